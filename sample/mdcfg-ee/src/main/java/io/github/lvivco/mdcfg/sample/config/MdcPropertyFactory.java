@@ -11,7 +11,6 @@ import jakarta.enterprise.inject.spi.InjectionPoint;
 import jakarta.inject.Inject;
 import lombok.AllArgsConstructor;
 import org.mdcfg.provider.MdcContext;
-import org.mdcfg.provider.MdcProvider;
 
 import java.util.Optional;
 
@@ -20,14 +19,13 @@ import java.util.Optional;
 public class MdcPropertyFactory {
 
     private MdcContextProvider mdcContextProvider;
-    private MdcProvider mdc;
 
     @Produces
     public MdcPropertyProvider<String> getMdcStringPropertyProvider(InjectionPoint ip) {
         return new MdcPropertyProvider<String>(ip, mdcContextProvider) {
             @Override
             protected Optional<String> get(String property, MdcContext ctx) {
-                return mdc.getStringOptional(ctx, property);
+                return mdcContextProvider.getPinned().getStringOptional(ctx, property);
             }
         };
     }
@@ -37,7 +35,7 @@ public class MdcPropertyFactory {
         return new MdcPropertyProvider<>(ip, mdcContextProvider) {
             @Override
             protected Optional<Integer> get(String property, MdcContext ctx) {
-                return mdc.getIntegerOptional(ctx, property);
+                return mdcContextProvider.getPinned().getIntegerOptional(ctx, property);
             }
         };
     }
@@ -3,19 +3,27 @@
  */
 package io.github.lvivco.mdcfg.sample.filters;
 
+import jakarta.inject.Inject;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.ext.Provider;
 import org.mdcfg.provider.MdcContext;
+import org.mdcfg.provider.MdcProvider;
+import org.mdcfg.provider.PinnedConfig;
 
 @Provider
-public class MdcContextFilter implements ContainerRequestFilter {
+public class MdcContextFilter implements ContainerRequestFilter, ContainerResponseFilter {
 
     @Context
     private HttpServletRequest httpServletRequest;
 
+    @Inject
+    private MdcProvider mdc;
+
     @Override
     public void filter(ContainerRequestContext requestContext) {
         String locale = requestContext.getUriInfo().getPathParameters().getFirst("locale");
@@ -24,5 +32,15 @@ public class MdcContextFilter implements ContainerRequestFilter {
         context.put("locale", locale);
 
         httpServletRequest.setAttribute("mdcContext", context);
+        // all properties of one request are read from the same config version until response is sent
+        httpServletRequest.setAttribute("mdcConfig", mdc.pin());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        PinnedConfig pinned = (PinnedConfig) httpServletRequest.getAttribute("mdcConfig");
+        if (pinned != null) {
+            pinned.close();
+        }
     }
 }
@@ -9,6 +9,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import org.mdcfg.provider.MdcContext;
+import org.mdcfg.provider.PinnedConfig;
 
 @Stateless
 @NoArgsConstructor
@@ -21,6 +22,10 @@ public class MdcContextProvider {
         return  clone((MdcContext)request.getAttribute("mdcContext"));
     }
 
+    public PinnedConfig getPinned(){
+        return (PinnedConfig)request.getAttribute("mdcConfig");
+    }
+
     public MdcContext getMerged(MdcContext ctx){
         MdcContext result = getGlobal();
         result.putAll(ctx);
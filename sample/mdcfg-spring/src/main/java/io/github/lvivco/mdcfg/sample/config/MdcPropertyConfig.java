@@ -7,7 +7,6 @@ import io.github.lvivco.mdcfg.sample.utils.MdcContextProvider;
 import io.github.lvivco.mdcfg.sample.utils.MdcPropertyProvider;
 import lombok.AllArgsConstructor;
 import org.mdcfg.provider.MdcContext;
-import org.mdcfg.provider.MdcProvider;
 import org.springframework.beans.factory.InjectionPoint;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Bean;
@@ -20,7 +19,6 @@ import java.util.Optional;
 @AllArgsConstructor
 public class MdcPropertyConfig {
 
-    private MdcProvider mdc;
     private MdcContextProvider mdcContextProvider;
 
     @Bean
@@ -29,7 +27,7 @@ public class MdcPropertyConfig {
         return new MdcPropertyProvider<String>(ip, mdcContextProvider) {
             @Override
             protected Optional<String> get(String property, MdcContext ctx) {
-                return mdc.getStringOptional(ctx, property);
+                return mdcContextProvider.getPinned().getStringOptional(ctx, property);
             }
         };
     }
@@ -40,7 +38,7 @@ public class MdcPropertyConfig {
         return new MdcPropertyProvider<>(ip, mdcContextProvider) {
             @Override
             protected Optional<Integer> get(String property, MdcContext ctx) {
-                return mdc.getIntegerOptional(ctx, property);
+                return mdcContextProvider.getPinned().getIntegerOptional(ctx, property);
             }
         };
     }
@@ -7,16 +7,23 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import org.apache.commons.lang3.StringUtils;
 import org.mdcfg.provider.MdcContext;
+import org.mdcfg.provider.MdcProvider;
+import org.mdcfg.provider.PinnedConfig;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
 @Component
+@AllArgsConstructor
 public class MdcContextFilter extends OncePerRequestFilter {
+
+    private final MdcProvider mdc;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request, @NonNull HttpServletResponse response, FilterChain filterChain)
@@ -29,7 +36,11 @@ public class MdcContextFilter extends OncePerRequestFilter {
 
         request.setAttribute("mdcContext", context);
 
-        filterChain.doFilter(request, response);
+        // all properties of one request are read from the same config version
+        try (PinnedConfig pinned = mdc.pin()) {
+            request.setAttribute("mdcConfig", pinned);
+            filterChain.doFilter(request, response);
+        }
     }
 
     private String parceLocale(String path){
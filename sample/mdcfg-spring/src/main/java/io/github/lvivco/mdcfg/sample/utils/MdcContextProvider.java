@@ -6,6 +6,7 @@ package io.github.lvivco.mdcfg.sample.utils;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import org.mdcfg.provider.MdcContext;
+import org.mdcfg.provider.PinnedConfig;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -17,6 +18,10 @@ public class MdcContextProvider {
         return clone((MdcContext)request.getAttribute("mdcContext"));
     }
 
+    public PinnedConfig getPinned(){
+        return (PinnedConfig)request.getAttribute("mdcConfig");
+    }
+
     public MdcContext getMerged(MdcContext ctx){
         MdcContext result = getGlobal();
         result.putAll(ctx);
@@ -4,6 +4,7 @@
 package org.mdcfg.builder;
 
 import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.lookup.LookupStrategy;
 import org.mdcfg.model.Hook;
 import org.mdcfg.provider.MdcProvider;
 import org.mdcfg.source.HoconSource;
@@ -11,6 +12,7 @@ import org.mdcfg.source.JsonSource;
 import org.mdcfg.source.Source;
 import org.mdcfg.source.YamlSource;
 import org.mdcfg.model.Config;
+import org.mdcfg.watchers.WatchRegistry;
 
 import java.io.File;
 import java.io.InputStream;
@@ -32,6 +34,10 @@ public class MdcBuilder {
         private final List<Hook> loadHooks = new ArrayList<>();
         private boolean keyCaseSensitive = false;
         private boolean selectorCaseSensitive = false;
+        private LookupStrategy lookupStrategy = LookupStrategy.LINEAR;
+        private int resultCacheSize;
+        private boolean nativeValues;
+        private WatchRegistry watchRegistry;
 
         public MdcConfigBuilder(Source source) {
             this.source = source;
@@ -63,6 +69,41 @@ public class MdcBuilder {
             return this;
         }
 
+        /**
+         * Choose how property chains are matched against context, {@link LookupStrategy#LINEAR} is used by default.
+         *
+         * @param lookupStrategy strategy that will be used for each property.
+         * @return current instance of {@link MdcConfigBuilder}
+         */
+        public MdcConfigBuilder lookupStrategy(LookupStrategy lookupStrategy) {
+            this.lookupStrategy = lookupStrategy;
+            return this;
+        }
+
+        /**
+         * Cache resolved property values. Cache key contains only context values that property depends on,
+         * least recently used entries are evicted when cache is full. Cache is cleared on each reload.
+         *
+         * @param maxSize maximum number of cached values, 0 disables cache.
+         * @return current instance of {@link MdcConfigBuilder}
+         */
+        public MdcConfigBuilder resultCache(int maxSize) {
+            this.resultCacheSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Keep numbers, booleans and lists as they were parsed by source, so typed and list getters return them
+         * without parsing String value. List elements are taken as is, so they may contain commas.
+         * Values changed by load hooks or containing references are parsed as usual.
+         *
+         * @return current instance of {@link MdcConfigBuilder}
+         */
+        public MdcConfigBuilder nativeValues() {
+            this.nativeValues = true;
+            return this;
+        }
+
         /**
          * Set up auto reload if source changed with default interval 1 sec.
          *
@@ -103,6 +144,19 @@ public class MdcBuilder {
             return this;
         }
 
+        /**
+         * Set registry that watches source files and runs reloads on its threads.
+         * Providers built with the same registry share one watch service and reload threads,
+         * by default all providers share {@link WatchRegistry#shared()}.
+         *
+         * @param watchRegistry registry to use for auto reload.
+         * @return current instance of {@link MdcConfigBuilder}
+         */
+        public MdcConfigBuilder watchRegistry(WatchRegistry watchRegistry) {
+            this.watchRegistry = watchRegistry;
+            return this;
+        }
+
         /**
          * Sometimes when you load config you need to preprocess values, for example encode.
          * Function will be called for each config value in each config property.
@@ -149,13 +203,20 @@ public class MdcBuilder {
          * @throws MdcException thrown in case something went wrong.
          */
         public MdcProvider build() throws MdcException {
+            if (resultCacheSize < 0) {
+                throw new MdcException("Result cache size must not be negative");
+            }
             Config config = new Config(
                     autoReload,
                     reloadInterval,
                     callback,
                     loadHooks,
                     keyCaseSensitive,
-                    selectorCaseSensitive);
+                    selectorCaseSensitive,
+                    lookupStrategy,
+                    resultCacheSize,
+                    nativeValues,
+                    watchRegistry != null ? watchRegistry : WatchRegistry.shared());
             return new MdcProvider(source, config);
         }
     }
@@ -0,0 +1,20 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.exceptions;
+
+/**
+ * Exception for property lookup misses, when property is not found or disabled for context.
+ * Misses are expected during normal work, so stack trace is not filled.
+ */
+public class MdcLookupException extends MdcException {
+
+    public MdcLookupException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,223 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.lookup;
+
+import org.mdcfg.model.Chain;
+import org.mdcfg.model.Dimension;
+import org.mdcfg.model.EncodedContext;
+import org.mdcfg.model.Range;
+import org.mdcfg.model.RangeIndex;
+import org.mdcfg.model.Selector;
+import org.mdcfg.model.ValueDictionary;
+
+import java.util.*;
+
+/**
+ * Chain lookup based on inverted index from dimension value id to bit set of chain positions.
+ * <p> Chain position is its definition order, so the highest set bit in result is the chain with the highest priority.
+ * For every dimension context value selects chains whose positive selector fits it and chains whose negative
+ * selector fits it. Chain matches when all positive selectors fit and not all negative selectors fit:
+ * <pre>
+ *   result = positive AND NOT (allNegatives AND hasNegative)
+ * </pre>
+ * <p> Bit sets of lookup are kept per thread and reused, so lookup doesn't allocate.
+ */
+public class BitsetLookup implements ChainLookup {
+    /** positive, all negatives and dimension bit sets, sized for the largest lookup used by thread */
+    private static final ThreadLocal<long[][]> SCRATCH = ThreadLocal.withInitial(() -> new long[3][0]);
+
+    private final Chain[] chains;
+    private final int words;
+    private final long[] all;
+    private final long[] hasNegative;
+    private final Index[] indexes;
+
+    public BitsetLookup(List<Chain> chains) {
+        this.words = (chains.size() + Long.SIZE - 1) / Long.SIZE;
+        this.chains = new Chain[chains.size()];
+        this.all = new long[words];
+        this.hasNegative = new long[words];
+
+        Map<String, Index> byName = new LinkedHashMap<>();
+        for (int i = 0; i < chains.size(); i++) {
+            Chain chain = chains.get(i);
+            // chains are sorted with down to up priority so the first chain gets the highest position
+            int position = chains.size() - 1 - i;
+            this.chains[position] = chain;
+            set(all, position);
+            for (Selector selector : chain.getSelectors().values()) {
+                byName.computeIfAbsent(selector.getDimension().getName(), k -> new Index(selector.getDimension()))
+                        .add(selector, position);
+                if (selector.isNegative()) {
+                    set(hasNegative, position);
+                }
+            }
+        }
+        this.indexes = byName.values().toArray(new Index[0]);
+        for (Index index : indexes) {
+            index.complete();
+        }
+    }
+
+    @Override
+    public Chain find(EncodedContext context) {
+        long[][] bits = scratch(words);
+        long[] positive = bits[0];
+        long[] allNegatives = bits[1];
+        long[] scratch = bits[2];
+        System.arraycopy(all, 0, positive, 0, words);
+        System.arraycopy(all, 0, allNegatives, 0, words);
+        for (Index index : indexes) {
+            index.positive(context, scratch);
+            if (!and(positive, scratch, words)) {
+                return null;
+            }
+            index.negative(context, scratch);
+            and(allNegatives, scratch, words);
+        }
+
+        for (int i = words - 1; i >= 0; i--) {
+            long word = positive[i] & ~(allNegatives[i] & hasNegative[i]);
+            if (word != 0) {
+                return chains[i * Long.SIZE + Long.SIZE - 1 - Long.numberOfLeadingZeros(word)];
+            }
+        }
+        return null;
+    }
+
+    private static long[][] scratch(int words) {
+        long[][] bits = SCRATCH.get();
+        if (bits[0].length < words) {
+            bits = new long[3][words];
+            SCRATCH.set(bits);
+        }
+        return bits;
+    }
+
+    private static void set(long[] bits, int position) {
+        bits[position / Long.SIZE] |= 1L << (position % Long.SIZE);
+    }
+
+    private static void or(long[] target, long[] source) {
+        for (int i = 0; i < source.length; i++) {
+            target[i] |= source[i];
+        }
+    }
+
+    /** Intersect first words of target with source and return false if nothing left. */
+    private static boolean and(long[] target, long[] source, int words) {
+        long any = 0;
+        for (int i = 0; i < words; i++) {
+            target[i] &= source[i];
+            any |= target[i];
+        }
+        return any != 0;
+    }
+
+    /** Inverted index of one dimension. */
+    private class Index {
+        private final Dimension dimension;
+        /** chains without positive selector on dimension or with selector that fits any value */
+        private final long[] positiveAlways = new long[words];
+        /** chains without negative selector on dimension or with selector that fits any value */
+        private final long[] negativeAlways = new long[words];
+        private final Map<Integer, long[]> positiveValues = new HashMap<>();
+        private final Map<Integer, long[]> negativeValues = new HashMap<>();
+        private long[][] positiveById;
+        private long[][] negativeById;
+        private RangeIndex rangeIndex;
+        /** chains whose ranges cover segment of range index */
+        private long[][] positiveBySegment;
+        private long[][] negativeBySegment;
+        private final Map<Range, long[]> positiveRanges = new LinkedHashMap<>();
+        private final Map<Range, long[]> negativeRanges = new LinkedHashMap<>();
+        private final long[] withPositive = new long[words];
+        private final long[] withNegative = new long[words];
+
+        Index(Dimension dimension) {
+            this.dimension = dimension;
+        }
+
+        void add(Selector selector, int position) {
+            boolean negative = selector.isNegative();
+            set(negative ? withNegative : withPositive, position);
+            if (!selector.getRanges().isEmpty()) {
+                rangeIndex = selector.getRangeIndex();
+                Map<Range, long[]> ranges = negative ? negativeRanges : positiveRanges;
+                selector.getRanges().forEach(r -> set(ranges.computeIfAbsent(r, k -> new long[words]), position));
+            } else if (selector.getValues().isEmpty()) {
+                set(negative ? negativeAlways : positiveAlways, position);
+            } else {
+                Map<Integer, long[]> values = negative ? negativeValues : positiveValues;
+                for (int id : selector.getIds()) {
+                    set(values.computeIfAbsent(id, k -> new long[words]), position);
+                }
+            }
+        }
+
+        /**
+         * Add chains that don't have selectors on this dimension to always matching sets
+         * and flatten value maps into arrays indexed by id.
+         */
+        void complete() {
+            for (int i = 0; i < words; i++) {
+                positiveAlways[i] |= all[i] & ~withPositive[i];
+                negativeAlways[i] |= all[i] & ~withNegative[i];
+            }
+            positiveById = byId(positiveValues);
+            negativeById = byId(negativeValues);
+            positiveBySegment = bySegment(positiveRanges);
+            negativeBySegment = bySegment(negativeRanges);
+        }
+
+        void positive(EncodedContext context, long[] result) {
+            collect(context, result, positiveAlways, positiveById, positiveBySegment);
+        }
+
+        void negative(EncodedContext context, long[] result) {
+            collect(context, result, negativeAlways, negativeById, negativeBySegment);
+        }
+
+        private void collect(EncodedContext context, long[] result, long[] always,
+                             long[][] byId, long[][] bySegment) {
+            System.arraycopy(always, 0, result, 0, words);
+            if (byId.length > 0) {
+                for (int id : context.ids(dimension)) {
+                    if (id != ValueDictionary.UNKNOWN && id < byId.length && byId[id] != null) {
+                        or(result, byId[id]);
+                    }
+                }
+            }
+            if (bySegment.length > 0) {
+                for (int segment : context.segments(rangeIndex)) {
+                    if (segment != RangeIndex.NONE) {
+                        or(result, bySegment[segment]);
+                    }
+                }
+            }
+        }
+
+        private long[][] bySegment(Map<Range, long[]> ranges) {
+            if (ranges.isEmpty()) {
+                return new long[0][];
+            }
+            long[][] result = new long[rangeIndex.segmentCount()][words];
+            ranges.forEach((range, bits) -> {
+                boolean[] covered = rangeIndex.covers(range);
+                for (int i = 0; i < covered.length; i++) {
+                    if (covered[i]) {
+                        or(result[i], bits);
+                    }
+                }
+            });
+            return result;
+        }
+
+        private long[][] byId(Map<Integer, long[]> values) {
+            long[][] result = new long[values.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1][];
+            values.forEach((id, bits) -> result[id] = bits);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.lookup;
+
+import org.mdcfg.model.Chain;
+import org.mdcfg.model.EncodedContext;
+
+/**
+ * Finds chain with the highest priority that matches context.
+ * Implementations are created once per property on load, see {@link LookupStrategy}.
+ */
+public interface ChainLookup {
+    /**
+     * @param context reading context {@link EncodedContext}.
+     * @return matched chain or null if no chain fits context.
+     */
+    Chain find(EncodedContext context);
+}
@@ -0,0 +1,427 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.lookup;
+
+import org.mdcfg.model.Chain;
+import org.mdcfg.model.Dimension;
+import org.mdcfg.model.EncodedContext;
+import org.mdcfg.model.Range;
+import org.mdcfg.model.RangeIndex;
+import org.mdcfg.model.Selector;
+import org.mdcfg.model.ValueDictionary;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Chain lookup compiled into dimension ordered decision DAG.
+ * <p> Chain with negative selectors matches when all positive selectors match and at least one negative
+ * selector doesn't, so chain is split into alternatives, one per negative selector. Each alternative is a set of
+ * tests where every test checks single dimension. Every DAG level branches by context value of one dimension and
+ * keeps alternatives which still fit, first remaining alternative has the highest priority.
+ * <p> Nodes are created lazily on first visit and shared between branches that lead to the same alternatives,
+ * so lookup cost depends on number of dimensions and not on number of chains. Once {@code MAX_NODES} nodes are
+ * created, new branches are not stored and remaining alternatives are scanned linearly instead.
+ */
+public class DecisionTreeLookup implements ChainLookup {
+    private static final int NONE = -1;
+    private static final int MULTIPLE = -2;
+    private static final int MAX_NODES = 4096;
+    private static final int MAX_MULTI_CHILDREN = 256;
+
+    private final Level[] levels;
+    private final Alternative[] alternatives;
+    private final Map<NodeKey, Node> nodes = new ConcurrentHashMap<>();
+    private final Node empty = new Node(NONE, new int[0], null);
+    private final Node root;
+
+    public DecisionTreeLookup(List<Chain> chains) {
+        this.levels = createLevels(chains);
+        this.alternatives = createAlternatives(chains);
+        int[] all = new int[alternatives.length];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i;
+        }
+        this.root = node(0, all);
+    }
+
+    @Override
+    public Chain find(EncodedContext context) {
+        Node node = root;
+        while (node.level != NONE) {
+            Node child = child(node, context);
+            if (child == null) {
+                return scan(node, context);
+            }
+            node = child;
+        }
+        return node.chain;
+    }
+
+    /** Find first alternative of node that passes tests from node level without creating nodes. */
+    private Chain scan(Node node, EncodedContext context) {
+        BitSet[] hits = new BitSet[levels.length];
+        for (int index : node.alternatives) {
+            Alternative alternative = alternatives[index];
+            boolean passes = true;
+            for (int level = node.level; passes && level < levels.length; level++) {
+                Test test = alternative.tests[level];
+                if (test != null) {
+                    if (hits[level] == null) {
+                        hits[level] = levels[level].hits(context);
+                    }
+                    passes = test.passes(hits[level]);
+                }
+            }
+            if (passes) {
+                return alternative.chain;
+            }
+        }
+        return null;
+    }
+
+    /** Create one level per dimension, dimensions tested by more chains go first. */
+    private Level[] createLevels(List<Chain> chains) {
+        Map<String, Level> byName = new LinkedHashMap<>();
+        for (Chain chain : chains) {
+            for (Selector selector : chain.getSelectors().values()) {
+                byName.computeIfAbsent(selector.getDimension().getName(), k -> new Level(selector.getDimension()))
+                        .register(selector);
+            }
+        }
+        Level[] result = byName.values().toArray(new Level[0]);
+        Arrays.sort(result, Comparator.comparingInt((Level l) -> l.selectorCount).reversed());
+        for (int i = 0; i < result.length; i++) {
+            result[i].index = i;
+            result[i].complete();
+        }
+        return result;
+    }
+
+    /** Split chains into alternatives keeping down to up priority. */
+    private Alternative[] createAlternatives(List<Chain> chains) {
+        Map<String, Level> byName = new HashMap<>();
+        for (Level level : levels) {
+            byName.put(level.dimension.getName(), level);
+        }
+
+        List<Alternative> result = new ArrayList<>();
+        for (Chain chain : chains) {
+            Test[] positives = new Test[levels.length];
+            List<Test> negatives = new ArrayList<>();
+            for (Selector selector : chain.getSelectors().values()) {
+                Level level = byName.get(selector.getDimension().getName());
+                Test test = level.test(selector);
+                if (selector.isNegative()) {
+                    negatives.add(test);
+                } else {
+                    positives[level.index] = test;
+                }
+            }
+            if (negatives.isEmpty()) {
+                result.add(new Alternative(chain, positives));
+            } else {
+                for (Test negative : negatives) {
+                    Test[] tests = positives.clone();
+                    tests[negative.level] = negative;
+                    result.add(new Alternative(chain, tests));
+                }
+            }
+        }
+        return result.toArray(new Alternative[0]);
+    }
+
+    /** Get child node for context value creating it on first visit, null if node limit is reached. */
+    private Node child(Node node, EncodedContext context) {
+        Level level = levels[node.level];
+        int hit = level.hit(context);
+        if (hit == NONE) {
+            Node child = node.none;
+            if (child == null) {
+                if (full()) {
+                    return null;
+                }
+                child = filter(node, new BitSet());
+                node.none = child;
+            }
+            return child;
+        }
+        if (hit != MULTIPLE) {
+            Node child = node.children.get(hit);
+            if (child == null) {
+                if (full()) {
+                    return null;
+                }
+                BitSet hits = new BitSet();
+                hits.set(hit);
+                child = filter(node, hits);
+                node.children.set(hit, child);
+            }
+            return child;
+        }
+        BitSet hits = level.hits(context);
+        Node child = node.multi.get(hits);
+        if (child == null) {
+            if (full()) {
+                return null;
+            }
+            child = filter(node, hits);
+            if (node.multi.size() < MAX_MULTI_CHILDREN) {
+                node.multi.put(hits, child);
+            }
+        }
+        return child;
+    }
+
+    private boolean full() {
+        return nodes.size() >= MAX_NODES;
+    }
+
+    /** Keep alternatives that pass test of node level. */
+    private Node filter(Node node, BitSet hits) {
+        int[] kept = new int[node.alternatives.length];
+        int size = 0;
+        for (int index : node.alternatives) {
+            Test test = alternatives[index].tests[node.level];
+            if (test == null || test.passes(hits)) {
+                kept[size++] = index;
+            }
+        }
+        return node(node.level + 1, Arrays.copyOf(kept, size));
+    }
+
+    /** Create node or reuse existing one for alternatives that still have to be checked starting from level. */
+    private Node node(int fromLevel, int[] candidates) {
+        int size = 0;
+        while (size < candidates.length) {
+            // alternatives after the first one without remaining tests can't be reached
+            if (!alternatives[candidates[size++]].hasTestsFrom(fromLevel)) {
+                break;
+            }
+        }
+        if (size == 0) {
+            return empty;
+        }
+        int[] alts = size == candidates.length ? candidates : Arrays.copyOf(candidates, size);
+        Alternative top = alternatives[alts[0]];
+        if (!top.hasTestsFrom(fromLevel)) {
+            return new Node(NONE, alts, top.chain);
+        }
+
+        int level = levels.length;
+        for (int index : alts) {
+            level = Math.min(level, alternatives[index].firstTestFrom(fromLevel));
+        }
+        NodeKey key = new NodeKey(level, alts);
+        Node node = nodes.get(key);
+        if (node == null) {
+            node = new Node(level, alts, null);
+            Node existing = nodes.putIfAbsent(key, node);
+            if (existing != null) {
+                node = existing;
+            }
+        }
+        return node;
+    }
+
+    /** One dimension of DAG. Value ids and ranges used by selectors are numbered as atoms. */
+    private class Level {
+        private final Dimension dimension;
+        private final Map<Integer, Integer> values = new HashMap<>();
+        private final Map<Range, Integer> ranges = new LinkedHashMap<>();
+        private RangeIndex rangeIndex;
+        /** range atoms that cover segment of range index */
+        private BitSet[] segmentAtoms;
+        /** atom of value id or {@code NONE} */
+        private int[] atomById;
+        private int selectorCount;
+        private int index;
+
+        Level(Dimension dimension) {
+            this.dimension = dimension;
+        }
+
+        void register(Selector selector) {
+            selectorCount++;
+            for (int id : selector.getIds()) {
+                values.putIfAbsent(id, values.size());
+            }
+            for (Range range : selector.getRanges()) {
+                ranges.putIfAbsent(range, ranges.size());
+                rangeIndex = selector.getRangeIndex();
+            }
+        }
+
+        void complete() {
+            int size = values.keySet().stream().mapToInt(Integer::intValue).max().orElse(NONE) + 1;
+            atomById = new int[size];
+            Arrays.fill(atomById, NONE);
+            values.forEach((id, atom) -> atomById[id] = atom);
+            if (rangeIndex != null) {
+                segmentAtoms = new BitSet[rangeIndex.segmentCount()];
+                Arrays.setAll(segmentAtoms, i -> new BitSet());
+                ranges.forEach((range, atom) -> {
+                    boolean[] covered = rangeIndex.covers(range);
+                    for (int i = 0; i < covered.length; i++) {
+                        if (covered[i]) {
+                            segmentAtoms[i].set(values.size() + atom);
+                        }
+                    }
+                });
+            }
+        }
+
+        Test test(Selector selector) {
+            BitSet atoms = new BitSet();
+            if (selector.getRanges().isEmpty()) {
+                Arrays.stream(selector.getIds()).forEach(id -> atoms.set(values.get(id)));
+            } else {
+                selector.getRanges().forEach(r -> atoms.set(values.size() + ranges.get(r)));
+            }
+            boolean matchAll = selector.getRanges().isEmpty() && selector.getValues().isEmpty();
+            return new Test(index, atoms, matchAll, selector.isNegative());
+        }
+
+        int atomCount() {
+            return values.size() + ranges.size();
+        }
+
+        /** Return the only atom hit by context value, {@code NONE} or {@code MULTIPLE} if bit set is needed. */
+        int hit(EncodedContext context) {
+            if (rangeIndex != null) {
+                return MULTIPLE;
+            }
+            int[] ids = context.ids(dimension);
+            if (ids.length == 0) {
+                return NONE;
+            }
+            return ids.length == 1 ? atom(ids[0]) : MULTIPLE;
+        }
+
+        BitSet hits(EncodedContext context) {
+            BitSet hits = new BitSet(atomCount());
+            if (!values.isEmpty()) {
+                for (int id : context.ids(dimension)) {
+                    setAtom(hits, atom(id));
+                }
+            }
+            if (rangeIndex != null) {
+                for (int segment : context.segments(rangeIndex)) {
+                    if (segment != RangeIndex.NONE) {
+                        hits.or(segmentAtoms[segment]);
+                    }
+                }
+            }
+            return hits;
+        }
+
+        private int atom(int id) {
+            return id == ValueDictionary.UNKNOWN || id >= atomById.length ? NONE : atomById[id];
+        }
+
+        private void setAtom(BitSet hits, int atom) {
+            if (atom != NONE) {
+                hits.set(atom);
+            }
+        }
+    }
+
+    /** Check of one selector against atoms hit by context. */
+    private static class Test {
+        private final int level;
+        private final BitSet atoms;
+        private final boolean matchAll;
+        private final boolean negative;
+
+        Test(int level, BitSet atoms, boolean matchAll, boolean negative) {
+            this.level = level;
+            this.atoms = atoms;
+            this.matchAll = matchAll;
+            this.negative = negative;
+        }
+
+        boolean passes(BitSet hits) {
+            boolean raw = matchAll || atoms.intersects(hits);
+            return raw != negative;
+        }
+    }
+
+    /** Chain with tests per level that all have to pass. */
+    private static class Alternative {
+        private final Chain chain;
+        private final Test[] tests;
+        private final int lastLevel;
+
+        Alternative(Chain chain, Test[] tests) {
+            this.chain = chain;
+            this.tests = tests;
+            int last = NONE;
+            for (int i = 0; i < tests.length; i++) {
+                if (tests[i] != null) {
+                    last = i;
+                }
+            }
+            this.lastLevel = last;
+        }
+
+        boolean hasTestsFrom(int level) {
+            return lastLevel >= level;
+        }
+
+        int firstTestFrom(int level) {
+            for (int i = level; i < tests.length; i++) {
+                if (tests[i] != null) {
+                    return i;
+                }
+            }
+            return tests.length;
+        }
+    }
+
+    private class Node {
+        private final int level;
+        private final int[] alternatives;
+        private final Chain chain;
+        private final AtomicReferenceArray<Node> children;
+        private final Map<BitSet, Node> multi;
+        private volatile Node none;
+
+        Node(int level, int[] alternatives, Chain chain) {
+            this.level = level;
+            this.alternatives = alternatives;
+            this.chain = chain;
+            boolean branching = level != NONE;
+            this.children = new AtomicReferenceArray<>(branching ? levels[level].atomCount() : 0);
+            this.multi = branching ? new ConcurrentHashMap<>() : Map.of();
+        }
+    }
+
+    private static class NodeKey {
+        private final int level;
+        private final int[] alternatives;
+
+        NodeKey(int level, int[] alternatives) {
+            this.level = level;
+            this.alternatives = alternatives;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof NodeKey)) {
+                return false;
+            }
+            NodeKey other = (NodeKey) o;
+            return level == other.level && Arrays.equals(alternatives, other.alternatives);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * level + Arrays.hashCode(alternatives);
+        }
+    }
+}
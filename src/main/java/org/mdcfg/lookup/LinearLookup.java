@@ -0,0 +1,28 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.lookup;
+
+import org.mdcfg.model.Chain;
+import org.mdcfg.model.EncodedContext;
+
+import java.util.List;
+
+/** Check chains one by one with down to up priority. */
+public class LinearLookup implements ChainLookup {
+    private final List<Chain> chains;
+
+    public LinearLookup(List<Chain> chains) {
+        this.chains = chains;
+    }
+
+    @Override
+    public Chain find(EncodedContext context) {
+        for (Chain chain : chains) {
+            if(chain.match(context)){
+                return chain;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.lookup;
+
+import org.mdcfg.model.Chain;
+
+import java.util.List;
+
+/**
+ * Defines how property chains are matched against reading context.
+ */
+public enum LookupStrategy {
+    /** Check every chain one by one, cost grows with number of chains. */
+    LINEAR {
+        @Override
+        public ChainLookup create(List<Chain> chains) {
+            return new LinearLookup(chains);
+        }
+    },
+    /** Walk decision DAG compiled on load, cost grows with number of dimensions. */
+    DECISION_TREE {
+        @Override
+        public ChainLookup create(List<Chain> chains) {
+            return new DecisionTreeLookup(chains);
+        }
+    },
+    /** Intersect bit sets of chains selected by each dimension value, cost grows with number of dimensions. */
+    BITSET {
+        @Override
+        public ChainLookup create(List<Chain> chains) {
+            return new BitsetLookup(chains);
+        }
+    };
+
+    /**
+     * Create lookup for chains.
+     *
+     * @param chains chains sorted with down to up priority.
+     * @return new {@link ChainLookup}.
+     */
+    public abstract ChainLookup create(List<Chain> chains);
+}
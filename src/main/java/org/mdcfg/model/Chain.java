@@ -3,12 +3,13 @@
  */
 package org.mdcfg.model;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
-import org.mdcfg.provider.MdcContext;
 
+import java.util.Arrays;
 import java.util.Map;
+import java.util.function.Function;
 
 
 /**
@@ -31,26 +32,88 @@ import java.util.Map;
  *  <li>{@code model@bmw\.drive@4WD$}</li>
  *  </ul>
  */
-@AllArgsConstructor
 @ToString
 @Getter
 public class Chain {
+    /** maximum number of converters which results are cached per chain */
+    private static final int MAX_CONVERTED = 8;
+
     private final Map<String, Selector> selectors;
     private String value;
+    /** compiled value or null if value doesn't contain references */
+    private final Template template;
+    /** value as it was parsed by source, null if source parsed it as String or native values are disabled */
+    private final Object nativeValue;
+    /** pairs of converter and converted value, array is replaced on update */
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    private volatile Object[] converted = new Object[0];
+
+    public Chain(Map<String, Selector> selectors, String value, Template template, Object nativeValue) {
+        this.selectors = selectors;
+        this.value = value;
+        this.template = template;
+        this.nativeValue = nativeValue;
+    }
+
+    /** Check whether chain value doesn't depend on context, so it can be converted once. */
+    public boolean isPlain() {
+        return template == null || template.isConstant();
+    }
+
+    /**
+     * Convert plain chain value, result is cached per converter instance and returned to all callers,
+     * so converter must return immutable values.
+     * Values which failed to convert aren't cached, so the same error is thrown on each call.
+     *
+     * @param converter converter of value, its result for null value is null.
+     */
+    public <T> T convert(Function<String, T> converter) {
+        return convert(converter, null);
+    }
+
+    /**
+     * Convert plain chain value taking native value when it can be converted without loss,
+     * result is cached per converter instance.
+     *
+     * @param converter converter of String value.
+     * @param nativeConverter converter of native value that returns null if it can't convert value, may be null.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T convert(Function<String, T> converter, Function<Object, T> nativeConverter) {
+        Object[] current = converted;
+        for (int i = 0; i < current.length; i += 2) {
+            if (current[i] == converter) {
+                return (T) current[i + 1];
+            }
+        }
+        T result = nativeValue != null && nativeConverter != null ? nativeConverter.apply(nativeValue) : null;
+        if (result == null) {
+            String plain = template != null ? template.getConstant() : value;
+            result = plain != null ? converter.apply(plain) : null;
+        }
+        if (current.length < MAX_CONVERTED * 2) {
+            Object[] next = Arrays.copyOf(current, current.length + 2);
+            next[current.length] = converter;
+            next[current.length + 1] = result;
+            converted = next;
+        }
+        return result;
+    }
 
     /**
      * Check whether chain matches context.
      * <p>All positive selectors must match. The chain is discarded only when
      * every negative selector matches.</p>
      */
-    public boolean match(MdcContext context, boolean isCaseSensitive) {
+    public boolean match(EncodedContext context) {
         boolean hasNegative = false;
         boolean allNegativesMatch = true;
 
         for (var entry : selectors.entrySet()) {
             Selector selector = entry.getValue();
 
-            boolean raw = selector.rawMatch(context, isCaseSensitive);
+            boolean raw = selector.rawMatch(context);
             if (selector.isNegative()) {
                 hasNegative = true;
                 if (!raw) {
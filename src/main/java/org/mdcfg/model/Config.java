@@ -4,7 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.mdcfg.builder.MdcCallback;
 import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.lookup.LookupStrategy;
 import org.mdcfg.model.Hook;
+import org.mdcfg.watchers.WatchRegistry;
 
 import java.util.List;
 
@@ -20,4 +22,11 @@ public class Config {
     private final List<Hook> loadHooks;
     private final boolean keySensitive;
     private final boolean selectorSensitive;
+    private final LookupStrategy lookupStrategy;
+    /** maximum number of cached resolved values, 0 if cache is disabled */
+    private final int resultCacheSize;
+    /** keep values parsed by source as numbers, booleans or lists to read them without parsing */
+    private final boolean nativeValues;
+    /** registry that watches source files and runs reloads, may be shared by providers */
+    private final WatchRegistry watchRegistry;
 }
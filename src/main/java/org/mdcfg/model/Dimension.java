@@ -38,6 +38,8 @@ import lombok.Data;
  *    price:
  *      addin*@panoramic-roof: 55000
  *  </pre>
+ *
+ *  <p> Ordinal is the index of dimension in {@link DimensionRegistry}.
  */
 @Data
 @AllArgsConstructor
@@ -46,4 +48,5 @@ public class Dimension {
     private boolean isRange;
     private boolean isList;
     private boolean isNumeric;
+    private int ordinal;
 }
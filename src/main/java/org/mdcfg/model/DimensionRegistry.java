@@ -0,0 +1,108 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All dimensions known to config with their value dictionaries. Each dimension gets ordinal in order of registration.
+ * <p> Registry is filled on load and must not be changed after it is published to readers.
+ */
+public class DimensionRegistry {
+    private final boolean isCaseSensitive;
+    private final Map<String, ValueDictionary> byName = new HashMap<>();
+    private final List<ValueDictionary> byOrdinal = new ArrayList<>();
+    /** ids of distinct selectors, see {@link #internSelector(Selector)} */
+    private final Map<List<Object>, Integer> selectorIds = new HashMap<>();
+    private int rangeIndexCount;
+    /** ids of range indexes of replaced properties, reused before new ids are reserved */
+    private final Deque<Integer> freeRangeIndexIds = new ArrayDeque<>();
+
+    public DimensionRegistry(boolean isCaseSensitive) {
+        this.isCaseSensitive = isCaseSensitive;
+    }
+
+    /**
+     * Copy registry, so it can be extended on reload while previous one is still read.
+     * Dimensions, values and selectors keep their ids, so properties encoded with previous registry can be reused.
+     */
+    public DimensionRegistry(DimensionRegistry registry) {
+        this.isCaseSensitive = registry.isCaseSensitive;
+        for (ValueDictionary dictionary : registry.byOrdinal) {
+            ValueDictionary copy = new ValueDictionary(dictionary);
+            byOrdinal.add(copy);
+            byName.put(copy.getName(), copy);
+        }
+        selectorIds.putAll(registry.selectorIds);
+        rangeIndexCount = registry.rangeIndexCount;
+        freeRangeIndexIds.addAll(registry.freeRangeIndexIds);
+    }
+
+    /** Get dictionary of dimension creating it if absent. */
+    public ValueDictionary register(String dimension) {
+        return byName.computeIfAbsent(dimension, k -> {
+            ValueDictionary dictionary = new ValueDictionary(k, byOrdinal.size(), isCaseSensitive);
+            byOrdinal.add(dictionary);
+            return dictionary;
+        });
+    }
+
+    /** Get dictionary of dimension or null if dimension is not used by any selector. */
+    public ValueDictionary find(String dimension) {
+        return byName.get(dimension);
+    }
+
+    public ValueDictionary get(int ordinal) {
+        return byOrdinal.get(ordinal);
+    }
+
+    public int size() {
+        return byOrdinal.size();
+    }
+
+    /** Reserve id for {@link RangeIndex}, ids released by replaced properties are reused first. */
+    public int nextRangeIndexId() {
+        Integer free = freeRangeIndexIds.poll();
+        return free != null ? free : rangeIndexCount++;
+    }
+
+    /**
+     * Release id of {@link RangeIndex} of property that is replaced or removed on reload,
+     * so number of ids doesn't grow with each reload.
+     */
+    public void releaseRangeIndexId(int id) {
+        freeRangeIndexIds.push(id);
+    }
+
+    public int rangeIndexCount() {
+        return rangeIndexCount;
+    }
+
+    /**
+     * Get id of selector, selectors of different properties that match the same context values get the same id.
+     * Negativity is not part of id, since it is applied after match.
+     */
+    public int internSelector(Selector selector) {
+        List<Object> key = new ArrayList<>();
+        key.add(selector.getDimension().getOrdinal());
+        key.add(selector.getDimension().isList());
+        for (int id : selector.getIds()) {
+            key.add(id);
+        }
+        for (Range range : selector.getRanges()) {
+            key.add(List.of(range.getMin(), range.isMinInclusive(), range.getMax(), range.isMaxInclusive()));
+        }
+        key.add(selector.getValues().isEmpty() && selector.getRanges().isEmpty());
+        return selectorIds.computeIfAbsent(key, k -> selectorIds.size());
+    }
+
+    public int selectorCount() {
+        return selectorIds.size();
+    }
+}
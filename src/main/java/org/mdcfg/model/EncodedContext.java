@@ -0,0 +1,194 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.model;
+
+import lombok.Getter;
+import org.mdcfg.provider.MdcContext;
+import org.mdcfg.provider.SlottedContext;
+import org.mdcfg.utils.ProviderUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reading context with values encoded into dictionary ids.
+ * <p> Every dimension is encoded lazily at most once, so single instance should be created per lookup
+ * and shared between all properties read in it. Instance is not thread safe.
+ * <p> Values of {@link SlottedContext} built against the same registry are read from its slots.
+ * <p> Value of one dimension can be replaced with {@link #split(String, Object)}, so split values are evaluated
+ * without copying context.
+ */
+public class EncodedContext {
+    static final byte UNKNOWN_MATCH = 0;
+    static final byte MATCH = 1;
+    static final byte NO_MATCH = 2;
+
+    @Getter private final MdcContext context;
+    @Getter private final DimensionRegistry registry;
+    private final SlottedContext slotted;
+    private int[][] values;
+    private int[][] listValues;
+    private double[][] numbers;
+    private int[][] segments;
+    private int splitOrdinal = -1;
+    private List<Object> splitValue;
+    private int[] splitIds;
+    private int[] splitListIds;
+    private double[] splitNumbers;
+    private int[][] splitSegments;
+    /** split number that cached split segments of range index belong to */
+    private int[] splitSegmentStamps;
+    private int splitStamp;
+    /** remembered results of interned selectors or null if selector matches are not remembered */
+    private byte[] selectorMatches;
+
+    public EncodedContext(MdcContext context, DimensionRegistry registry) {
+        this.context = context;
+        this.registry = registry;
+        this.slotted = context instanceof SlottedContext && ((SlottedContext) context).getRegistry() == registry
+                ? (SlottedContext) context
+                : null;
+    }
+
+    /**
+     * Remember results of selector matches, so each distinct selector is matched once while context is used.
+     * Context values must not be changed after this call.
+     */
+    public void rememberSelectorMatches() {
+        if (selectorMatches == null) {
+            selectorMatches = new byte[registry.selectorCount()];
+        }
+    }
+
+    /** Get remembered selector matches or null if they are not remembered or dimension is split. */
+    byte[] selectorMatches(Dimension dimension) {
+        return dimension.getOrdinal() == splitOrdinal ? null : selectorMatches;
+    }
+
+    /** Get ids of dimension value, empty array if context doesn't contain dimension. */
+    public int[] ids(Dimension dimension) {
+        if (dimension.getOrdinal() == splitOrdinal) {
+            return splitIds(dimension);
+        }
+        if (slotted != null) {
+            return slotted.ids(dimension);
+        }
+        int ordinal = dimension.getOrdinal();
+        int[][] cache;
+        if (dimension.isList()) {
+            if (listValues == null) {
+                listValues = new int[registry.size()][];
+            }
+            cache = listValues;
+        } else {
+            if (values == null) {
+                values = new int[registry.size()][];
+            }
+            cache = values;
+        }
+        int[] ids = cache[ordinal];
+        if (ids == null) {
+            ids = registry.get(ordinal).encode(context.get(dimension.getName()), dimension.isList());
+            cache[ordinal] = ids;
+        }
+        return ids;
+    }
+
+    /**
+     * Get segments of dimension numbers in range index, empty array if context doesn't contain dimension.
+     * Value that is not a number gets {@link RangeIndex#NONE} segment.
+     */
+    public int[] segments(RangeIndex index) {
+        if (index.getDimension().getOrdinal() == splitOrdinal) {
+            return splitSegments(index);
+        }
+        if (segments == null) {
+            segments = new int[registry.rangeIndexCount()][];
+        }
+        int[] result = segments[index.getId()];
+        if (result == null) {
+            double[] values = numbers(index.getDimension());
+            result = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                result[i] = index.segment(values[i]);
+            }
+            segments[index.getId()] = result;
+        }
+        return result;
+    }
+
+    /**
+     * Replace value of dimension with single element List until {@link #clearSplit()} is called,
+     * as if context contained {@code dimension = [value]}. Other dimensions keep their encoded values.
+     */
+    public void split(String dimension, Object value) {
+        ValueDictionary dictionary = registry.find(dimension);
+        splitOrdinal = dictionary != null ? dictionary.getOrdinal() : -1;
+        splitValue = Collections.singletonList(value);
+        splitIds = null;
+        splitListIds = null;
+        splitNumbers = null;
+        splitStamp++;
+    }
+
+    /** Restore original value of split dimension. */
+    public void clearSplit() {
+        splitOrdinal = -1;
+        splitValue = null;
+    }
+
+    private int[] splitIds(Dimension dimension) {
+        ValueDictionary dictionary = registry.get(splitOrdinal);
+        if (dimension.isList()) {
+            if (splitListIds == null) {
+                splitListIds = dictionary.encode(splitValue, true);
+            }
+            return splitListIds;
+        }
+        if (splitIds == null) {
+            splitIds = dictionary.encode(splitValue, false);
+        }
+        return splitIds;
+    }
+
+    private int[] splitSegments(RangeIndex index) {
+        if (splitSegments == null) {
+            splitSegments = new int[registry.rangeIndexCount()][];
+            splitSegmentStamps = new int[registry.rangeIndexCount()];
+        }
+        int id = index.getId();
+        if (splitSegmentStamps[id] != splitStamp || splitSegments[id] == null) {
+            if (splitNumbers == null) {
+                splitNumbers = ProviderUtils.toNumbers(splitValue);
+            }
+            int[] result = splitSegments[id];
+            if (result == null || result.length != splitNumbers.length) {
+                result = new int[splitNumbers.length];
+                splitSegments[id] = result;
+            }
+            for (int i = 0; i < result.length; i++) {
+                result[i] = index.segment(splitNumbers[i]);
+            }
+            splitSegmentStamps[id] = splitStamp;
+        }
+        return splitSegments[id];
+    }
+
+    /** Parse dimension value once, every element of List value is parsed separately. */
+    private double[] numbers(Dimension dimension) {
+        if (slotted != null) {
+            return slotted.numbers(dimension);
+        }
+        int ordinal = dimension.getOrdinal();
+        if (numbers == null) {
+            numbers = new double[registry.size()][];
+        }
+        double[] result = numbers[ordinal];
+        if (result == null) {
+            result = ProviderUtils.toNumbers(context.get(dimension.getName()));
+            numbers[ordinal] = result;
+        }
+        return result;
+    }
+}
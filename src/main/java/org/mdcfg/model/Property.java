@@ -6,7 +6,7 @@ package org.mdcfg.model;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.mdcfg.exceptions.MdcException;
-import org.mdcfg.provider.MdcContext;
+import org.mdcfg.lookup.ChainLookup;
 import org.mdcfg.utils.ProviderUtils;
 
 import java.util.*;
@@ -17,19 +17,31 @@ import java.util.*;
 @AllArgsConstructor
 public class Property {
     @Getter private final String name;
-    private final List<Chain> chains;
-    private final Map<String, List<Chain>> listChainMap;
+    private final ChainLookup lookup;
+    private final Map<String, ChainLookup> listLookups;
+    /** all chains by down to up priority */
+    @Getter private final List<Chain> chains;
+    /** names of dimensions used by chains */
+    @Getter private final Set<String> dimensions;
+    /** references used by chain values, e.g. {@code mdc:engine.type} */
+    @Getter private final Set<String> references;
     @Getter private final boolean hasReference;
-    Property enabled;
+    @Getter Property enabled;
 
     /** check whether property contains enabled@ and if it returns true*/
-    public boolean isEnabled(MdcContext context, boolean isCaseSensitive) {
-        return enabled == null || Boolean.parseBoolean(enabled.getString(context, isCaseSensitive));
+    public boolean isEnabled(EncodedContext context) {
+        return enabled == null || Boolean.parseBoolean(enabled.getString(context));
     }
 
-    /** create compare string and match it on chains by down to up priority */
-    public String getString(MdcContext context, boolean isCaseSensitive) {
-        return getString(context, chains, null, null, isCaseSensitive);
+    /** match context on chains by down to up priority */
+    public String getString(EncodedContext context) {
+        Chain chain = getChain(context);
+        return chain != null ? chain.getValue() : null;
+    }
+
+    /** Find chain with the highest priority that matches context or null. */
+    public Chain getChain(EncodedContext context) {
+        return lookup.find(context);
     }
 
     /** Iterate by plitBy list context dimension creating compare string for each
@@ -51,38 +63,26 @@ public class Property {
      * </pre>
      * each of them will be used to get value
      */
-    public List<String> getSplitString(MdcContext context, String splitBy, boolean isCaseSensitive) throws MdcException {
-        List<?> list = Optional.ofNullable(context.get(splitBy))
+    public List<Chain> getSplitChains(EncodedContext context, String splitBy) throws MdcException {
+        List<?> list = Optional.ofNullable(context.getContext().get(splitBy))
                 .map(ProviderUtils::toList)
                 .orElseThrow(()-> new MdcException(String.format("Selector %s provided for split is not List", splitBy)));
-        List<String> result = new ArrayList<>();
-        List<Chain> activeChains = listChainMap.get(splitBy);
-        if(activeChains != null) {
-            for (Object splitValue : list) {
-                String value = getString(context, activeChains, splitBy, splitValue, isCaseSensitive);
-                if (value != null) {
-                    result.add(value);
+        List<Chain> result = new ArrayList<>(list.size());
+        ChainLookup activeLookup = listLookups.get(splitBy);
+        if(activeLookup != null) {
+            try {
+                for (Object splitValue : list) {
+                    // only split dimension is replaced, other dimensions keep values encoded once per call
+                    context.split(splitBy, splitValue);
+                    Chain chain = activeLookup.find(context);
+                    if (chain != null && chain.getValue() != null) {
+                        result.add(chain);
+                    }
                 }
+            } finally {
+                context.clearSplit();
             }
         }
         return result;
     }
-
-    /** Check chains by down to up priority */
-    private String getString(MdcContext context, List<Chain> activeChains, String splitBy, Object splitValue, boolean isCaseSensitive) {
-        if(splitBy != null){
-            MdcContext newContext = new MdcContext();
-            newContext.putAll(context);
-            newContext.put(splitBy, List.of(splitValue));
-            context = newContext;
-        }
-        for (Chain chain : activeChains) {
-            if(chain.match(context, isCaseSensitive)){
-                return chain.getValue();
-            }
-        }
-        return null;
-    }
-
-
 }
@@ -55,7 +55,11 @@ public class Range {
     }
 
     private boolean matches(Object object) {
-        double value = Double.parseDouble(object.toString());
+        return contains(Double.parseDouble(object.toString()));
+    }
+
+    /** Check whether number fits range. */
+    public boolean contains(double value) {
         boolean minMatch = minInclusive ? value >= min : value > min;
         boolean maxMatch = maxInclusive ? value <= max : value < max;
         return minMatch && maxMatch;
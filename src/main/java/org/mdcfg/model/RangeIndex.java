@@ -0,0 +1,87 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.model;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Sorted boundaries of all ranges used by one property on one numeric dimension.
+ * <p> Boundaries split number axis into segments: every boundary itself and every gap between two neighbour
+ * boundaries. All numbers of one segment fit the same ranges, so range check is reduced to binary search of
+ * segment and lookup in precomputed coverage of selector, see {@link #covers(Range)}.
+ * <pre>
+ *   boundaries:   b0        b1        b2
+ *   segments:   0  |  1  |  2  |  3  |  4  |  5  |  6
+ * </pre>
+ */
+public class RangeIndex {
+    /** Segment of number that doesn't fit any range, e.g. {@code NaN}. */
+    public static final int NONE = -1;
+
+    @Getter private final int id;
+    @Getter private final Dimension dimension;
+    private final double[] boundaries;
+
+    /**
+     * @param id index number in {@link DimensionRegistry}, used to cache segments in {@link EncodedContext}.
+     * @param dimension range dimension.
+     * @param ranges all ranges of dimension.
+     */
+    public RangeIndex(int id, Dimension dimension, Collection<Range> ranges) {
+        this.id = id;
+        this.dimension = dimension;
+        this.boundaries = ranges.stream()
+                .flatMapToDouble(r -> Arrays.stream(new double[]{r.getMin(), r.getMax()}))
+                .map(RangeIndex::normalize)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    public int segmentCount() {
+        return boundaries.length * 2 + 1;
+    }
+
+    /** Find segment of number in O(log n). */
+    public int segment(double value) {
+        if (Double.isNaN(value)) {
+            return NONE;
+        }
+        int index = Arrays.binarySearch(boundaries, normalize(value));
+        return index >= 0 ? index * 2 + 1 : -(index + 1) * 2;
+    }
+
+    /** Return flags of segments fully covered by range. */
+    public boolean[] covers(Range range) {
+        boolean[] result = new boolean[segmentCount()];
+        for (int i = 0; i < boundaries.length; i++) {
+            result[i * 2 + 1] = range.contains(boundaries[i]);
+        }
+        // gap between two boundaries is covered when range spans both of them
+        for (int i = 1; i < boundaries.length; i++) {
+            result[i * 2] = range.getMin() <= boundaries[i - 1] && range.getMax() >= boundaries[i];
+        }
+        return result;
+    }
+
+    /** Return flags of segments covered by any of ranges. */
+    public boolean[] covers(Collection<Range> ranges) {
+        boolean[] result = new boolean[segmentCount()];
+        for (Range range : ranges) {
+            boolean[] covered = covers(range);
+            for (int i = 0; i < result.length; i++) {
+                result[i] |= covered[i];
+            }
+        }
+        return result;
+    }
+
+    /** Make {@code -0.0} equal to {@code 0.0} as it is for comparison operators. */
+    private static double normalize(double value) {
+        return value + 0.0;
+    }
+}
@@ -3,20 +3,20 @@
  */
 package org.mdcfg.model;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.Getter;
 import lombok.ToString;
 
-import org.mdcfg.provider.MdcContext;
-import org.mdcfg.utils.ProviderUtils;
-
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Represents single selector inside a chain. It knows
  * whether it is positive or negative and can match a context value.
+ * <p> Values are also stored as sorted dictionary ids, see {@link ValueDictionary}.
+ * Ranges are checked by segments of {@link RangeIndex} that they cover.
  */
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Getter
 @ToString
 public class Selector {
@@ -24,46 +24,58 @@ public class Selector {
     private final boolean negative;
     private final List<String> values;
     private final List<Range> ranges;
+    private final int[] ids;
+    @ToString.Exclude private RangeIndex rangeIndex;
+    @ToString.Exclude private boolean[] segments;
+    /** id shared by selectors with the same match results, -1 if selector is not interned */
+    @ToString.Exclude private int id = -1;
 
-    /** Return true if this selector fits provided value ignoring negativity. */
-    public boolean rawMatch(MdcContext context, boolean isCaseSensitive) {
-        Object value = context.get(dimension.getName());
-        boolean match;
-        if (!ranges.isEmpty()) {
-            match = ranges.stream().anyMatch(r -> r.matches(context));
-        } else {
-            if (values.isEmpty()) {
-                match = true;
-            } else if (value == null) {
-                match = false;
-            } else {
-                List<?> listVal = ProviderUtils.toList(value);
-                if (dimension.isList() && listVal != null) {
-                    match = false;
-                    for (Object val : listVal) {
-                        if (compare(val.toString(), isCaseSensitive)) {
-                            match = true;
-                            break;
-                        }
-                    }
-                } else {
-                    match = compare(value.toString(), isCaseSensitive);
-                }
-            }
-        }
+    /** Bind ranges to index of property dimension, must be called before first match. */
+    public void index(RangeIndex index) {
+        this.rangeIndex = index;
+        this.segments = index.covers(ranges);
+    }
 
-        return match;
+    /** Set id assigned by {@link DimensionRegistry#internSelector(Selector)}. */
+    public void intern(int id) {
+        this.id = id;
     }
 
+    /**
+     * Return true if this selector fits provided value ignoring negativity.
+     * Result is memoized in context if it remembers selector matches.
+     */
+    public boolean rawMatch(EncodedContext context) {
+        byte[] matches = id >= 0 ? context.selectorMatches(dimension) : null;
+        if (matches == null) {
+            return match(context);
+        }
+        byte known = matches[id];
+        if (known != EncodedContext.UNKNOWN_MATCH) {
+            return known == EncodedContext.MATCH;
+        }
+        boolean result = match(context);
+        matches[id] = result ? EncodedContext.MATCH : EncodedContext.NO_MATCH;
+        return result;
+    }
 
-    private boolean compare(String val, boolean isCaseSensitive) {
-        for (String allowed : values) {
-            if (isCaseSensitive ? val.equals(allowed) : val.equalsIgnoreCase(allowed)) {
+    private boolean match(EncodedContext context) {
+        if (!ranges.isEmpty()) {
+            for (int segment : context.segments(rangeIndex)) {
+                if (segment != RangeIndex.NONE && segments[segment]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (values.isEmpty()) {
+            return true;
+        }
+        for (int id : context.ids(dimension)) {
+            if (id != ValueDictionary.UNKNOWN && Arrays.binarySearch(ids, id) >= 0) {
                 return true;
             }
         }
         return false;
     }
-
-
 }
@@ -0,0 +1,173 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.model;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Chain value with references compiled on load into literal and reference segments.
+ * <p> For example value {@code Year ${ctx:year} with ${mdc:engine.type}} consists of literal {@code "Year "},
+ * context reference {@code year}, literal {@code " with "} and property reference {@code engine.type}.
+ * References of unknown type are kept as literals.
+ * <p> Property references which value doesn't depend on context can be replaced with literals on load,
+ * see {@link #fold(Function)}.
+ */
+@ToString
+public class Template {
+    private static final Pattern REFERENCE_PATTERN = Pattern.compile("\\$\\{([^}]+)}");
+    private static final String REF_KEY_SEPARATOR = ":";
+    private static final String REF_TYPE_MDC = "mdc";
+    private static final String REF_TYPE_CTX = "ctx";
+
+    public enum Type { LITERAL, MDC, CTX }
+
+    /** Part of template. */
+    @Getter
+    @ToString(exclude = "property")
+    public static class Segment {
+        private final Type type;
+        /** literal text or reference as it is written in value, used if reference can't be resolved */
+        private final String text;
+        /** property name or context key of reference */
+        private final String key;
+        /** referenced property, null if property doesn't exist */
+        private Property property;
+
+        Segment(Type type, String text, String key) {
+            this.type = type;
+            this.text = text;
+            this.key = key;
+        }
+    }
+
+    @Getter private List<Segment> segments;
+    /** value of template without references, null if template has references */
+    private String constant;
+
+    private Template(List<Segment> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Compile chain value.
+     *
+     * @param value chain value.
+     * @return template or null if value doesn't contain references.
+     */
+    public static Template compile(String value) {
+        Matcher m = REFERENCE_PATTERN.matcher(value);
+        List<Segment> segments = new ArrayList<>();
+        int literalStart = 0;
+        StringBuilder literal = new StringBuilder();
+        boolean hasReference = false;
+        while (m.find()) {
+            Segment reference = createReference(m.group(), m.group(1));
+            if (reference == null) {
+                continue;
+            }
+            hasReference = true;
+            literal.append(value, literalStart, m.start());
+            if (literal.length() > 0) {
+                segments.add(new Segment(Type.LITERAL, literal.toString(), null));
+                literal.setLength(0);
+            }
+            segments.add(reference);
+            literalStart = m.end();
+        }
+        if (!hasReference) {
+            return null;
+        }
+        literal.append(value, literalStart, value.length());
+        if (literal.length() > 0) {
+            segments.add(new Segment(Type.LITERAL, literal.toString(), null));
+        }
+        return new Template(List.copyOf(segments));
+    }
+
+    /**
+     * Bind property references to properties.
+     *
+     * @param properties function that returns property by referenced name or null if it doesn't exist.
+     */
+    public void bind(Function<String, Property> properties) {
+        for (Segment segment : segments) {
+            if (segment.type == Type.MDC) {
+                segment.property = properties.apply(segment.key);
+            }
+        }
+    }
+
+    /**
+     * Replace property references with constant values of referenced properties, merging neighbour literals.
+     *
+     * @param constants function that returns value of property if it doesn't depend on context, otherwise null.
+     * @return true if any reference was replaced.
+     */
+    public boolean fold(Function<Property, String> constants) {
+        boolean folded = false;
+        List<Segment> result = new ArrayList<>(segments.size());
+        for (Segment segment : segments) {
+            String constant = segment.type == Type.MDC ? constants.apply(segment.property) : null;
+            if (constant != null) {
+                folded = true;
+                addLiteral(result, constant);
+            } else if (segment.type == Type.LITERAL) {
+                addLiteral(result, segment.text);
+            } else {
+                result.add(segment);
+            }
+        }
+        if (folded) {
+            segments = List.copyOf(result);
+            if (segments.stream().allMatch(s -> s.type == Type.LITERAL)) {
+                constant = segments.isEmpty() ? "" : segments.get(0).text;
+            }
+        }
+        return folded;
+    }
+
+    /** Check whether template consists of literals only, so its value doesn't depend on context. */
+    public boolean isConstant() {
+        return constant != null;
+    }
+
+    /** Return value of constant template or null if template has references. */
+    public String getConstant() {
+        return constant;
+    }
+
+    private static void addLiteral(List<Segment> segments, String text) {
+        int last = segments.size() - 1;
+        if (last >= 0 && segments.get(last).type == Type.LITERAL) {
+            segments.set(last, new Segment(Type.LITERAL, segments.get(last).text + text, null));
+        } else {
+            segments.add(new Segment(Type.LITERAL, text, null));
+        }
+    }
+
+    /** Create reference segment or return null if reference type is unknown. */
+    private static Segment createReference(String text, String reference) {
+        int refKeyIndex = reference.indexOf(REF_KEY_SEPARATOR);
+        if (refKeyIndex > 1) {
+            String refType = reference.substring(0, refKeyIndex);
+            String refKey = reference.substring(refKeyIndex + 1);
+            switch (refType) {
+                case REF_TYPE_MDC:
+                    return new Segment(Type.MDC, text, refKey);
+                case REF_TYPE_CTX:
+                    return new Segment(Type.CTX, text, refKey);
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+}
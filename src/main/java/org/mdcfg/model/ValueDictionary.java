@@ -0,0 +1,97 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.model;
+
+import lombok.Getter;
+import org.mdcfg.utils.ProviderUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary of one dimension that maps selector values to int ids.
+ * <p> Ids are assigned on load while selectors are parsed. Context values absent in dictionary
+ * are encoded to {@link #UNKNOWN} that is never accepted by positive selector.
+ */
+public class ValueDictionary {
+    public static final int UNKNOWN = -1;
+    private static final int[] EMPTY_IDS = new int[0];
+    private static final int[] UNKNOWN_IDS = {UNKNOWN};
+
+    @Getter private final String name;
+    @Getter private final int ordinal;
+    private final boolean isCaseSensitive;
+    /** whether dimension is used by range selectors */
+    @Getter private boolean range;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<int[]> singletons = new ArrayList<>();
+
+    public ValueDictionary(String name, int ordinal, boolean isCaseSensitive) {
+        this.name = name;
+        this.ordinal = ordinal;
+        this.isCaseSensitive = isCaseSensitive;
+    }
+
+    /** Copy dictionary keeping ids of values. */
+    public ValueDictionary(ValueDictionary dictionary) {
+        this.name = dictionary.name;
+        this.ordinal = dictionary.ordinal;
+        this.isCaseSensitive = dictionary.isCaseSensitive;
+        this.range = dictionary.range;
+        this.ids.putAll(dictionary.ids);
+        this.singletons.addAll(dictionary.singletons);
+    }
+
+    /** Add selector value to dictionary and return its id. */
+    public int register(String value) {
+        return ids.computeIfAbsent(normalize(value), k -> {
+            singletons.add(new int[]{singletons.size()});
+            return singletons.size() - 1;
+        });
+    }
+
+    /** Return id of value or {@link #UNKNOWN}. */
+    public int id(String value) {
+        Integer id = ids.get(normalize(value));
+        return id == null ? UNKNOWN : id;
+    }
+
+    /**
+     * Encode context value into ids.
+     *
+     * @param value context value.
+     * @param isList whether each element of List value should be encoded separately.
+     * @return ids of value, empty array if value is absent.
+     */
+    public int[] encode(Object value, boolean isList) {
+        if (value == null) {
+            return EMPTY_IDS;
+        }
+        List<?> list = isList ? ProviderUtils.toList(value) : null;
+        if (list == null) {
+            int id = id(value.toString());
+            return id == UNKNOWN ? UNKNOWN_IDS : singletons.get(id);
+        }
+        int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            Object element = list.get(i);
+            result[i] = element == null ? UNKNOWN : id(element.toString());
+        }
+        return result;
+    }
+
+    public void markRange() {
+        this.range = true;
+    }
+
+    public int size() {
+        return singletons.size();
+    }
+
+    private String normalize(String value) {
+        return isCaseSensitive ? value : ProviderUtils.foldCase(value);
+    }
+}
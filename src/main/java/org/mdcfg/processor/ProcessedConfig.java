@@ -0,0 +1,72 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.processor;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.mdcfg.model.DimensionRegistry;
+import org.mdcfg.model.Property;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Properties processed from source data together with source data they were created from,
+ * so next data can be processed incrementally, see {@link Processor#process(Map, Map, ProcessedConfig)}.
+ */
+@Getter
+public class ProcessedConfig {
+    private final Map<String, Property> properties;
+    /** registry selectors of properties were encoded with, must not be changed */
+    private final DimensionRegistry registry;
+    /** source data of aliases, any change of aliases changes all properties */
+    @Getter(AccessLevel.PACKAGE)
+    private final Map<String, Map<String, String>> aliases;
+    /** signature of source data of each property by property name */
+    @Getter(AccessLevel.PACKAGE)
+    private final Map<String, Signature> signatures;
+    /** number of properties created from source data, the rest were taken from previous config */
+    private final int processedCount;
+
+    ProcessedConfig(Map<String, Property> properties, DimensionRegistry registry,
+                    Map<String, Map<String, String>> aliases, Map<String, Signature> signatures, int processedCount) {
+        this.properties = Collections.unmodifiableMap(properties);
+        this.registry = registry;
+        this.aliases = aliases;
+        this.signatures = signatures;
+        this.processedCount = processedCount;
+    }
+
+    /**
+     * Source data of one property: selectors, values and values parsed by source in order of data.
+     * Hash is compared first, so unchanged properties are found cheaply.
+     */
+    static final class Signature {
+        private final List<Object> parts;
+        private final int hash;
+
+        Signature(List<Object> parts) {
+            this.parts = parts;
+            this.hash = parts.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature) o;
+            return hash == other.hash && parts.equals(other.parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
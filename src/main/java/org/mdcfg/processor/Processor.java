@@ -5,8 +5,13 @@ package org.mdcfg.processor;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.model.Chain;
+import org.mdcfg.model.DimensionRegistry;
 import org.mdcfg.model.Hook;
 import org.mdcfg.model.Property;
+import org.mdcfg.model.RangeIndex;
+import org.mdcfg.model.Selector;
+import org.mdcfg.model.Template;
 import org.mdcfg.model.Config;
 import org.mdcfg.utils.SourceUtils;
 
@@ -30,6 +35,7 @@ public class Processor {
     private static final Pattern ALIASES = Pattern.compile("aliases(?::|$).*$");
     private static final Pattern INCLUDES = Pattern.compile("includes(?::|$).*$");
     private static final Pattern PROPERTY = Pattern.compile("^(?:(?!(?:aliases|includes)(?::|$)).)*$");
+    private static final String REF_PREFIX_MDC = "mdc:";
     private static final String ALIAS_REPLACER = "(?:\\[|^|\\s|,|@|!)(%s)(?:,|\\s|]|$)";
     private static final Pattern HYPER_SELECTOR_PATTERN = Pattern.compile("(^[^*@:\\s]+\\*?@!?[^:]+(?::[^*@:\\s]+\\*?@!?[^:]+)*):[^@:]+(?::|$)");
 
@@ -41,34 +47,240 @@ public class Processor {
 
     /**
      * Process data including aliases and calling appropriate hooks.
+     * <p> If previous config is provided, only properties which source data was added or changed since it
+     * was processed and properties that reference them are created again, other properties are taken
+     * from previous config as is. Any change of aliases makes all properties to be created again.
      *
      * @param data Map configuration to be processed.
-     * @return Map of properties.
+     * @param nativeValues values parsed by source mapped by String value instances of data.
+     * @param previous config processed from previous data or null.
+     * @return processed properties.
      * @throws MdcException thrown in case something went wrong.
      */
-    public Map<String, Property> process(Map<String, Map<String, String>> data) throws MdcException {
+    public ProcessedConfig process(Map<String, Map<String, String>> data, Map<String, Object> nativeValues,
+                                   ProcessedConfig previous) throws MdcException {
         data = processHyperSelectors(data);
+        Map<String, Map<String, String>> aliasData = getAliasData(data);
+        boolean incremental = previous != null && previous.getAliases().equals(aliasData);
+        // previous registry may be read, so it is copied to keep ids of reused properties
+        DimensionRegistry registry = incremental
+                ? new DimensionRegistry(previous.getRegistry())
+                : new DimensionRegistry(config.isSelectorSensitive());
         Map<String, List<Alias>> aliases = getAliases(data);
-        Map<String, Property> properties = new HashMap<>();
-        
+
+        Map<String, Map.Entry<String, Map<String, String>>> sources = new HashMap<>();
+        Map<String, ProcessedConfig.Signature> signatures = new HashMap<>();
+        Set<String> changed = new HashSet<>();
         for (Map.Entry<String, Map<String, String>> entry : data.entrySet()) {
             if (PROPERTY.matcher(entry.getKey()).matches()) {
-                Property property = processProperty(entry, aliases);
                 String propertyName = extractPropertyName(entry.getKey());
-                properties.put(propertyName, property);
+                ProcessedConfig.Signature signature = createSignature(entry.getValue(), nativeValues);
+                sources.put(propertyName, entry);
+                signatures.put(propertyName, signature);
+                if (!incremental || !signature.equals(previous.getSignatures().get(propertyName))) {
+                    changed.add(propertyName);
+                }
+            }
+        }
+        if (incremental) {
+            previous.getSignatures().keySet().stream()
+                    .filter(name -> !signatures.containsKey(name))
+                    .forEach(changed::add);
+            changed = addDependents(changed, previous.getProperties());
+            changed.forEach(name -> releaseRangeIndexes(previous.getProperties().get(name), registry));
+        }
+
+        Map<String, Property> properties = new HashMap<>();
+        Map<String, Property> processed = new HashMap<>();
+        for (Map.Entry<String, Map.Entry<String, Map<String, String>>> source : sources.entrySet()) {
+            String propertyName = source.getKey();
+            Property property = changed.contains(propertyName)
+                    ? processProperty(source.getValue(), aliases, nativeValues, registry)
+                    : previous.getProperties().get(propertyName);
+            properties.put(propertyName, property);
+            if (changed.contains(propertyName)) {
+                processed.put(propertyName, property);
+            }
+        }
+        bindReferences(processed.values(), properties);
+        Set<Property> folded = Collections.newSetFromMap(new IdentityHashMap<>());
+        folded.addAll(processed.values());
+        foldReferences(sortByReferences(processed).stream()
+                .filter(folded::contains)
+                .collect(Collectors.toList()));
+        return new ProcessedConfig(properties, registry, aliasData, signatures, processed.size());
+    }
+
+    /** Release ids of range indexes of property which is processed again or removed, so new properties reuse them. */
+    private void releaseRangeIndexes(Property property, DimensionRegistry registry) {
+        if (property == null) {
+            return;
+        }
+        property.getChains().stream()
+                .flatMap(chain -> chain.getSelectors().values().stream())
+                .map(Selector::getRangeIndex)
+                .filter(Objects::nonNull)
+                .map(RangeIndex::getId)
+                .distinct()
+                .forEach(registry::releaseRangeIndexId);
+        releaseRangeIndexes(property.getEnabled(), registry);
+    }
+
+    /**
+     * Source data of property in order of data, including native values, since the same String value
+     * may be parsed by source into different values.
+     */
+    private ProcessedConfig.Signature createSignature(Map<String, String> selectors, Map<String, Object> nativeValues) {
+        List<Object> parts = new ArrayList<>(selectors.size() * 3);
+        for (Map.Entry<String, String> entry : selectors.entrySet()) {
+            parts.add(entry.getKey());
+            parts.add(entry.getValue());
+            parts.add(nativeValues.get(entry.getValue()));
+        }
+        return new ProcessedConfig.Signature(parts);
+    }
+
+    /**
+     * Add properties that reference changed properties directly or through other properties,
+     * since referenced values are bound and folded into their templates.
+     */
+    private Set<String> addDependents(Set<String> changed, Map<String, Property> properties) {
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (Property property : properties.values()) {
+            for (String reference : property.getReferences()) {
+                if (reference.startsWith(REF_PREFIX_MDC)) {
+                    dependents.computeIfAbsent(processKey(reference.substring(REF_PREFIX_MDC.length())),
+                            k -> new ArrayList<>()).add(property.getName());
+                }
+            }
+        }
+        Set<String> result = new HashSet<>(changed);
+        Deque<String> queue = new ArrayDeque<>(changed);
+        while (!queue.isEmpty()) {
+            for (String dependent : dependents.getOrDefault(queue.pop(), List.of())) {
+                if (result.add(dependent)) {
+                    queue.push(dependent);
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Bind property references of compiled chain values to referenced properties. */
+    private void bindReferences(Collection<Property> bound, Map<String, Property> properties) {
+        for (Property property : bound) {
+            for (Chain chain : property.getChains()) {
+                if (chain.getTemplate() != null) {
+                    chain.getTemplate().bind(key -> properties.get(processKey(key)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sort properties so that each property goes after all properties it references.
+     *
+     * @throws MdcException if properties reference each other in cycle.
+     */
+    private List<Property> sortByReferences(Map<String, Property> properties) throws MdcException {
+        List<Property> result = new ArrayList<>(properties.size());
+        Map<Property, Boolean> visited = new IdentityHashMap<>();
+        Deque<Property> path = new ArrayDeque<>();
+        for (Property property : properties.values()) {
+            visitReferences(property, visited, path, result);
+        }
+        return result;
+    }
+
+    /** Depth first walk by references, property is visited while it is in path and done after it is added to result. */
+    private void visitReferences(Property property, Map<Property, Boolean> visited, Deque<Property> path,
+                                 List<Property> result) throws MdcException {
+        Boolean done = visited.get(property);
+        if (Boolean.TRUE.equals(done)) {
+            return;
+        }
+        if (Boolean.FALSE.equals(done)) {
+            StringBuilder cycle = new StringBuilder(property.getName());
+            for (Iterator<Property> it = path.iterator(); it.hasNext(); ) {
+                Property next = it.next();
+                cycle.insert(0, next.getName() + " -> ");
+                if (next == property) {
+                    break;
+                }
+            }
+            throw new MdcException(String.format("Cyclic property references: %s", cycle));
+        }
+        visited.put(property, false);
+        path.push(property);
+        for (Property reference : getReferencedProperties(property)) {
+            visitReferences(reference, visited, path, result);
+        }
+        path.pop();
+        visited.put(property, true);
+        result.add(property);
+    }
+
+    private static Set<Property> getReferencedProperties(Property property) {
+        Set<Property> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Chain chain : property.getChains()) {
+            if (chain.getTemplate() != null) {
+                for (Template.Segment segment : chain.getTemplate().getSegments()) {
+                    if (segment.getProperty() != null) {
+                        result.add(segment.getProperty());
+                    }
+                }
             }
         }
-        return properties;
+        return result;
+    }
+
+    /**
+     * Inline values of referenced properties that don't depend on context or enablement.
+     * Properties are sorted by references, so values of referenced properties are already folded.
+     * Raw chain values are kept, only compiled templates are changed.
+     */
+    private void foldReferences(List<Property> properties) {
+        for (Property property : properties) {
+            for (Chain chain : property.getChains()) {
+                if (chain.getTemplate() != null) {
+                    chain.getTemplate().fold(Processor::getConstantValue);
+                }
+            }
+        }
+    }
+
+    /**
+     * Return value of property if it is the same for any context: property can't be disabled and its chain
+     * with the highest priority has no selectors and no unresolved references. Otherwise return null.
+     */
+    private static String getConstantValue(Property property) {
+        if (property == null || property.getEnabled() != null || property.getChains().isEmpty()) {
+            return null;
+        }
+        Chain top = property.getChains().get(0);
+        if (!top.getSelectors().isEmpty()) {
+            return null;
+        }
+        Template template = top.getTemplate();
+        if (template == null) {
+            return top.getValue();
+        }
+        return template.isConstant() ? template.getConstant() : null;
+    }
+
+    private String processKey(String key) {
+        return config.isKeySensitive() ? key : key.toLowerCase(Locale.ROOT);
     }
     
-    private Property processProperty(Map.Entry<String, Map<String, String>> entry, Map<String, List<Alias>> aliases) throws MdcException {
+    private Property processProperty(Map.Entry<String, Map<String, String>> entry, Map<String, List<Alias>> aliases,
+                                     Map<String, Object> nativeValues, DimensionRegistry registry) throws MdcException {
         String propertyName = extractPropertyName(entry.getKey());
         List<Hook> appropriateHooks = findApplicableHooks(propertyName);
         Map<String, String> processedSelectors = processAliases(entry.getValue(), aliases);
         Map<String, String> enabledSelectors = filterByPrefix(processedSelectors, ENABLED_PREFIX);
         
-        Property enabledProperty = createEnabledProperty(propertyName, enabledSelectors);
-        return new PropertyProcessor(propertyName, appropriateHooks)
+        Property enabledProperty = createEnabledProperty(propertyName, enabledSelectors, registry);
+        return new PropertyProcessor(propertyName, appropriateHooks, nativeValues, config, registry)
                 .getProperty(processedSelectors, enabledProperty);
     }
     
@@ -82,10 +294,11 @@ public class Processor {
                 .collect(Collectors.toList());
     }
     
-    private Property createEnabledProperty(String propertyName, Map<String, String> enabledSelectors) throws MdcException {
+    private Property createEnabledProperty(String propertyName, Map<String, String> enabledSelectors,
+                                           DimensionRegistry registry) throws MdcException {
         return enabledSelectors.isEmpty() 
                 ? null 
-                : new PropertyProcessor(propertyName, null).getProperty(enabledSelectors, null);
+                : new PropertyProcessor(propertyName, null, Map.of(), config, registry).getProperty(enabledSelectors, null);
     }
 
     /** Parse config to find additional config sources configured in {@code includes} tag. */
@@ -195,6 +408,17 @@ public class Processor {
         return result;
     }
 
+    /** Get source data of aliases */
+    private Map<String, Map<String, String>> getAliasData(Map<String, Map<String, String>> data) {
+        Map<String, Map<String, String>> result = new HashMap<>();
+        for (Map.Entry<String, Map<String, String>> entry : data.entrySet()) {
+            if(ALIASES.matcher(entry.getKey()).matches()) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
     /** Parse config to find aliases */
     private Map<String, List<Alias>> getAliases(Map<String, Map<String, String>> data) {
         for (Map.Entry<String, Map<String, String>> entry : data.entrySet()) {
@@ -4,6 +4,8 @@
 package org.mdcfg.processor;
 
 import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.lookup.ChainLookup;
+import org.mdcfg.lookup.LookupStrategy;
 import org.mdcfg.utils.SourceUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -11,6 +13,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.mdcfg.model.*;
 
 import java.util.*;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -23,25 +26,40 @@ public class PropertyProcessor {
     private static final String NEGATIVE_SELECTOR= "!";
     private static final Pattern LIST_SIGN_PATTERN = Pattern.compile("[\\s\\[\\]]");
     private static final Pattern NUMERIC_SPLITERATOR_PATTERN = Pattern.compile("!|,\\s*|\\.\\.");
-    private static final Pattern REFERENCE_PATTERN = Pattern.compile("\\$\\{[^}]+}");
+    private static final Pattern REFERENCE_PATTERN = Pattern.compile("\\$\\{([^}]+)}");
     private final String name;
     private final Map<String, Dimension> dimensions = new HashMap<>();
     private final List<Chain> chains = new ArrayList<>();
     private final Map<String, List<Chain>> listChains = new HashMap<>();
+    private final Set<String> references = new LinkedHashSet<>();
     private final List<Hook> loadHooks;
+    /** values parsed by source mapped by String value instances */
+    private final Map<String, Object> nativeValues;
+    private final Config config;
+    private final DimensionRegistry registry;
     private boolean hasReference;
 
-    public PropertyProcessor(String name, List<Hook> loadHooks) {
+    public PropertyProcessor(String name, List<Hook> loadHooks, Map<String, Object> nativeValues, Config config,
+                             DimensionRegistry registry) {
         this.name = name;
         this.loadHooks = loadHooks;
+        this.nativeValues = nativeValues;
+        this.config = config;
+        this.registry = registry;
     }
 
     /** Create {@link Property} object */
     public Property getProperty(Map<String, String> map, Property enabled) throws MdcException {
         createDimensions(map);
         createSelectorChains(map);
+        indexRanges();
+        internSelectors();
 
-        return new Property(name, chains, listChains, hasReference, enabled);
+        LookupStrategy strategy = config.getLookupStrategy();
+        Map<String, ChainLookup> listLookups = new HashMap<>();
+        listChains.forEach((dimension, list) -> listLookups.put(dimension, strategy.create(list)));
+        return new Property(name, strategy.create(chains), listLookups, List.copyOf(chains),
+                Set.copyOf(dimensions.keySet()), Collections.unmodifiableSet(references), hasReference, enabled);
     }
 
     /** Create {@code List} of {@link Dimension} objects with down to up order. */
@@ -92,10 +110,10 @@ public class PropertyProcessor {
 
             // update dimension to be numeric range
             if(!current.isRange() && isRange){
-                dimensions.put(key, new Dimension(key, true, isList, true));
+                dimensions.put(key, new Dimension(key, true, isList, true, current.getOrdinal()));
             }
         } else {
-            dimensions.put(key, new Dimension(key, isRange, isList, isNumeric));
+            dimensions.put(key, new Dimension(key, isRange, isList, isNumeric, registry.register(key).getOrdinal()));
         }
     }
 
@@ -159,16 +177,51 @@ public class PropertyProcessor {
             }
         }
 
-        if(!hasReference) {
-            hasReference = REFERENCE_PATTERN.matcher(value).find();
+        Matcher matcher = REFERENCE_PATTERN.matcher(value);
+        boolean chainReference = false;
+        while (matcher.find()) {
+            hasReference = true;
+            chainReference = true;
+            references.add(matcher.group(1));
         }
 
-        Chain chain = new Chain(selectorMap, value);
+        // value changed by hook is a new instance, so its native value is not found
+        Object nativeValue = chainReference ? null : nativeValues.get(value);
+        Chain chain = new Chain(selectorMap, value, chainReference ? Template.compile(value) : null, nativeValue);
         chains.add(0, chain);
         addListableChains(nonEmptyListDimensions, chain);
     }
 
 
+    private void internSelectors() {
+        for (Chain chain : chains) {
+            for (Selector selector : chain.getSelectors().values()) {
+                selector.intern(registry.internSelector(selector));
+            }
+        }
+    }
+
+    /** Build {@link RangeIndex} per range dimension and bind all range selectors of dimension to it. */
+    private void indexRanges() {
+        Map<String, List<Selector>> rangeSelectors = new HashMap<>();
+        for (Chain chain : chains) {
+            for (Selector selector : chain.getSelectors().values()) {
+                if (!selector.getRanges().isEmpty()) {
+                    rangeSelectors.computeIfAbsent(selector.getDimension().getName(), k -> new ArrayList<>())
+                            .add(selector);
+                }
+            }
+        }
+        rangeSelectors.forEach((dimension, selectors) -> {
+            List<Range> ranges = selectors.stream()
+                    .flatMap(selector -> selector.getRanges().stream())
+                    .collect(Collectors.toList());
+            registry.register(dimension).markRange();
+            RangeIndex index = new RangeIndex(registry.nextRangeIndexId(), dimensions.get(dimension), ranges);
+            selectors.forEach(selector -> selector.index(index));
+        });
+    }
+
     /** Return iterator in reverse order */
     private ListIterator<Map.Entry<String, String>> reverseIterator(Map<String, String> map) {
         return new ArrayList<>(map.entrySet()).listIterator(map.size());
@@ -212,14 +265,20 @@ public class PropertyProcessor {
                     .filter(part -> !part.isBlank())
                     .map(part -> createRange(part, dimension))
                     .collect(Collectors.toList());
-            return new Selector(dimension, negative, List.of(), ranges);
+            return new Selector(dimension, negative, List.of(), ranges, new int[0]);
         }
         
         List<String> values = Arrays.stream(selector.split(","))
                 .map(String::trim)
                 .filter(val -> !val.isEmpty())
                 .collect(Collectors.toList());
-        return new Selector(dimension, negative, values, List.of());
+        ValueDictionary dictionary = registry.register(dimension.getName());
+        int[] ids = values.stream()
+                .mapToInt(dictionary::register)
+                .sorted()
+                .distinct()
+                .toArray();
+        return new Selector(dimension, negative, values, List.of(), ids);
     }
 
 
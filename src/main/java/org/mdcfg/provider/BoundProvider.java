@@ -0,0 +1,281 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.provider;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import org.mdcfg.exceptions.MdcException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * View of {@link MdcProvider} bound to one context, created by {@link MdcProvider#forContext(MdcContext)}.
+ * <p> Context is encoded once and result of each distinct selector, like {@code env@prod}, is computed once
+ * and reused by all properties read through the view. Values of referenced properties are also resolved once.
+ * <p> View reads config that was loaded when it was created. It is not thread safe and is supposed to live
+ * as long as one request. Getters are the same as in {@link ConfigReader}, but without context parameter.
+ */
+public class BoundProvider {
+    private final ReadContext read;
+    /** reader of config for bound context */
+    private final ConfigReader reader;
+
+    BoundProvider(ConfigReader source, ReadContext read) {
+        this.read = read;
+        this.reader = new ConfigReader(source.isKeySensitive()) {
+            @Override
+            ReadContext read(MdcContext context) {
+                return read;
+            }
+        };
+    }
+
+    public String getString(String key) throws MdcException {
+        return reader.getString(read.getContext(), key);
+    }
+
+    public Optional<String> getStringOptional(String key) {
+        return reader.getStringOptional(read.getContext(), key);
+    }
+
+    public Boolean getBoolean(String key) throws MdcException {
+        return reader.getBoolean(read.getContext(), key);
+    }
+
+    public Optional<Boolean> getBooleanOptional(String key) {
+        return reader.getBooleanOptional(read.getContext(), key);
+    }
+
+    public Float getFloat(String key) throws MdcException {
+        return reader.getFloat(read.getContext(), key);
+    }
+
+    public Optional<Float> getFloatOptional(String key) {
+        return reader.getFloatOptional(read.getContext(), key);
+    }
+
+    public Double getDouble(String key) throws MdcException {
+        return reader.getDouble(read.getContext(), key);
+    }
+
+    public Optional<Double> getDoubleOptional(String key) {
+        return reader.getDoubleOptional(read.getContext(), key);
+    }
+
+    public Short getShort(String key) throws MdcException {
+        return reader.getShort(read.getContext(), key);
+    }
+
+    public Optional<Short> getShortOptional(String key) {
+        return reader.getShortOptional(read.getContext(), key);
+    }
+
+    public Integer getInteger(String key) throws MdcException {
+        return reader.getInteger(read.getContext(), key);
+    }
+
+    public Optional<Integer> getIntegerOptional(String key) {
+        return reader.getIntegerOptional(read.getContext(), key);
+    }
+
+    public Long getLong(String key) throws MdcException {
+        return reader.getLong(read.getContext(), key);
+    }
+
+    public Optional<Long> getLongOptional(String key) {
+        return reader.getLongOptional(read.getContext(), key);
+    }
+
+    public List<String> getStringList(String key) throws MdcException {
+        return reader.getStringList(read.getContext(), key);
+    }
+
+    public Optional<List<String>> getStringListOptional(String key) {
+        return reader.getStringListOptional(read.getContext(), key);
+    }
+
+    public List<Boolean> getBooleanList(String key) throws MdcException {
+        return reader.getBooleanList(read.getContext(), key);
+    }
+
+    public Optional<List<Boolean>> getBooleanListOptional(String key) {
+        return reader.getBooleanListOptional(read.getContext(), key);
+    }
+
+    public List<Float> getFloatList(String key) throws MdcException {
+        return reader.getFloatList(read.getContext(), key);
+    }
+
+    public Optional<List<Float>> getFloatListOptional(String key) {
+        return reader.getFloatListOptional(read.getContext(), key);
+    }
+
+    public List<Double> getDoubleList(String key) throws MdcException {
+        return reader.getDoubleList(read.getContext(), key);
+    }
+
+    public Optional<List<Double>> getDoubleListOptional(String key) {
+        return reader.getDoubleListOptional(read.getContext(), key);
+    }
+
+    public List<Short> getShortList(String key) throws MdcException {
+        return reader.getShortList(read.getContext(), key);
+    }
+
+    public Optional<List<Short>> getShortListOptional(String key) {
+        return reader.getShortListOptional(read.getContext(), key);
+    }
+
+    public List<Integer> getIntegerList(String key) throws MdcException {
+        return reader.getIntegerList(read.getContext(), key);
+    }
+
+    public Optional<List<Integer>> getIntegerListOptional(String key) {
+        return reader.getIntegerListOptional(read.getContext(), key);
+    }
+
+    public List<Long> getLongList(String key) throws MdcException {
+        return reader.getLongList(read.getContext(), key);
+    }
+
+    public Optional<List<Long>> getLongListOptional(String key) {
+        return reader.getLongListOptional(read.getContext(), key);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return reader.getInt(read.getContext(), key, defaultValue);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        return reader.getLong(read.getContext(), key, defaultValue);
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        return reader.getDouble(read.getContext(), key, defaultValue);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return reader.getBoolean(read.getContext(), key, defaultValue);
+    }
+
+    public int[] getIntArray(String key) throws MdcException {
+        return reader.getIntArray(read.getContext(), key);
+    }
+
+    public long[] getLongArray(String key) throws MdcException {
+        return reader.getLongArray(read.getContext(), key);
+    }
+
+    public double[] getDoubleArray(String key) throws MdcException {
+        return reader.getDoubleArray(read.getContext(), key);
+    }
+
+    public Map<String, String> getStringMap(String key) throws MdcException {
+        return reader.getStringMap(read.getContext(), key);
+    }
+
+    public Map<String, Double> getDoubleMap(String key) throws MdcException {
+        return reader.getDoubleMap(read.getContext(), key);
+    }
+
+    public Map<String, Integer> getIntegerMap(String key) throws MdcException {
+        return reader.getIntegerMap(read.getContext(), key);
+    }
+
+    public Map<String, Boolean> getBooleanMap(String key) throws MdcException {
+        return reader.getBooleanMap(read.getContext(), key);
+    }
+
+    public Map<String, Float> getFloatMap(String key) throws MdcException {
+        return reader.getFloatMap(read.getContext(), key);
+    }
+
+    public Map<String, Long> getLongMap(String key) throws MdcException {
+        return reader.getLongMap(read.getContext(), key);
+    }
+
+    public Map<String, Short> getShortMap(String key) throws MdcException {
+        return reader.getShortMap(read.getContext(), key);
+    }
+
+    public <T> T getValue(String key, Function<String, T> converter) throws MdcException {
+        return reader.getValue(read.getContext(), key, converter);
+    }
+
+    public <T> Optional<T> getValueOptional(String key, Function<String, T> converter) {
+        return reader.getValueOptional(read.getContext(), key, converter);
+    }
+
+    public <T> T getScalar(String key, Class<T> clas) throws MdcException {
+        return reader.getScalar(read.getContext(), key, clas);
+    }
+
+    public <T> Optional<T> getScalarOptional(String key, Class<T> clas) {
+        return reader.getScalarOptional(read.getContext(), key, clas);
+    }
+
+    public <T> List<T> getSplitValue(String key, String splitBy, Function<String, T> converter) throws MdcException {
+        return reader.getSplitValue(read.getContext(), key, splitBy, converter);
+    }
+
+    public <T> List<T> getValueList(String key, Function<String, T> converter) throws MdcException {
+        return reader.getValueList(read.getContext(), key, converter);
+    }
+
+    public <T> Optional<List<T>> getValueListOptional(String key, Function<String, T> converter) {
+        return reader.getValueListOptional(read.getContext(), key, converter);
+    }
+
+    public <T> List<List<T>> getSplitValueList(String key, String splitBy, Function<String, T> converter) throws MdcException {
+        return reader.getSplitValueList(read.getContext(), key, splitBy, converter);
+    }
+
+    public <K, V> Map<K, V> getMap(String key, Function<String, K> keyConverter, Function<String, V> valueConverter) throws MdcException {
+        return reader.getMap(read.getContext(), key, keyConverter, valueConverter);
+    }
+
+    public ResolvedConfig getAll(Collection<String> keys) {
+        return reader.getAll(read.getContext(), keys);
+    }
+
+    public ResolvedConfig getAllUnder(String prefix) {
+        return reader.getAllUnder(read.getContext(), prefix);
+    }
+
+    public Map<String, Object> getCompoundMap(String key) throws MdcException {
+        return reader.getCompoundMap(read.getContext(), key);
+    }
+
+    public String getCompoundJSON(String key, boolean prettify) throws MdcException {
+        return reader.getCompoundJSON(read.getContext(), key, prettify);
+    }
+
+    public <T> T getCompoundObject(String key, Class<T> clas) throws MdcException {
+        return reader.getCompoundObject(read.getContext(), key, clas);
+    }
+
+    public <T> T getCompoundObject(String key, JavaType toValueType) throws MdcException {
+        return reader.getCompoundObject(read.getContext(), key, toValueType);
+    }
+
+    public <T> T getCompoundObject(String key, TypeReference<T> toValueTypeRef) throws MdcException {
+        return reader.getCompoundObject(read.getContext(), key, toValueTypeRef);
+    }
+
+    public <T> List<T> getCompoundObjectListByClass(String key, Function<String, Class<? extends T>> classResolver) throws MdcException {
+        return reader.getCompoundObjectListByClass(read.getContext(), key, classResolver);
+    }
+
+    public <T> List<T> getCompoundObjectListByType(String key, Function<String, JavaType> typeResolver) throws MdcException {
+        return reader.getCompoundObjectListByType(read.getContext(), key, typeResolver);
+    }
+
+    public <T> List<T> getCompoundObjectListByTypeReference(String key, Function<String, TypeReference<? extends T>> typeRefResolver) throws MdcException {
+        return reader.getCompoundObjectListByTypeReference(read.getContext(), key, typeRefResolver);
+    }
+}
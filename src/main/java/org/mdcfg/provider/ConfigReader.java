@@ -0,0 +1,1195 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.provider;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JavaType;
+import org.apache.commons.lang3.tuple.Pair;
+import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.exceptions.MdcLookupException;
+import org.mdcfg.model.Chain;
+import org.mdcfg.model.Property;
+import org.mdcfg.model.Template;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.mdcfg.provider.MdcConverter.*;
+
+/**
+ * Getters of configuration by property name and context, shared by {@link MdcProvider} and {@link PinnedConfig}.
+ * <p> Every getter encodes context with {@link #read(MdcContext)}, so implementations only choose
+ * which loaded config is read.
+ */
+public abstract class ConfigReader {
+    @FunctionalInterface
+    private interface BiFunction<T, U, R> { R apply(T t, U u) throws MdcException; }
+
+    static final String REF_TYPE_MDC = "mdc";
+    static final String REF_TYPE_CTX = "ctx";
+    private static final Pattern LIST_SIGN_PATTERN = Pattern.compile("[\\[\\]]");
+    private static final Pattern SUB_PROPERTY_SEPARATOR = Pattern.compile("\\.");
+    private static final String ROOT_PROPERTY = "^%s($|\\.)";
+    private static final Pattern REFERENCE_PATTERN = Pattern.compile("\\$\\{([^}]+)}");
+    private static final Pattern COMMA_PATTERN = Pattern.compile(",");
+    private static final String REF_KEY_SEPARATOR = ":";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final boolean keySensitive;
+
+    ConfigReader(boolean keySensitive) {
+        this.keySensitive = keySensitive;
+    }
+
+    /** Encode context against config read by this reader. */
+    abstract ReadContext read(MdcContext context);
+
+    /**
+     * Read property value and convert it to {@code String}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return property value or null.
+     * @throws MdcException in case property not found.
+     */
+    public String getString(MdcContext context, String key) throws MdcException {
+        return getValue(context, key, TO_STRING);
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional<String>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Optional} of property value.
+     */
+    public Optional<String> getStringOptional(MdcContext context, String key) {
+        return getValueOptional(context, key, TO_STRING);
+    }
+
+
+    /**
+     * Read property value and convert it to {@code Boolean}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return property value or null.
+     * @throws MdcException in case property not found.
+     */
+    public Boolean getBoolean(MdcContext context, String key) throws MdcException {
+        return getValue(context, key, TO_BOOLEAN);
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional<Boolean>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Optional} of property value.
+     */
+    public Optional<Boolean> getBooleanOptional(MdcContext context, String key) {
+        return getValueOptional(context, key, TO_BOOLEAN);
+    }
+
+    /**
+     * Read property value and convert it to {@code Float}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return property value or null.
+     * @throws MdcException in case property not found.
+     */
+    public Float getFloat(MdcContext context, String key) throws MdcException {
+        return getValue(context, key, TO_FLOAT);
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional<Float>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Optional} of property value.
+     */
+    public Optional<Float> getFloatOptional(MdcContext context, String key) {
+        return getValueOptional(context, key, TO_FLOAT);
+    }
+
+    /**
+     * Read property value and convert it to {@code Double}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return property value or null.
+     * @throws MdcException in case property not found.
+     */
+    public Double getDouble(MdcContext context, String key) throws MdcException {
+        return getValue(context, key, TO_DOUBLE);
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional<Double>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Optional} of property value.
+     */
+    public Optional<Double> getDoubleOptional(MdcContext context, String key) {
+        return getValueOptional(context, key, TO_DOUBLE);
+    }
+
+    /**
+     * Read property value and convert it to {@code Short}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return property value or null.
+     * @throws MdcException in case property not found.
+     */
+    public Short getShort(MdcContext context, String key) throws MdcException {
+        return getValue(context, key, TO_SHORT);
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional<Short>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Optional} of property value.
+     */
+    public Optional<Short> getShortOptional(MdcContext context, String key) {
+        return getValueOptional(context, key, TO_SHORT);
+    }
+
+    /**
+     * Read property value and convert it to {@code Integer}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return property value or null.
+     * @throws MdcException in case property not found.
+     */
+    public Integer getInteger(MdcContext context, String key) throws MdcException {
+        return getValue(context, key, TO_INTEGER);
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional<Integer>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Optional} of property value.
+     */
+    public Optional<Integer> getIntegerOptional(MdcContext context, String key) {
+        return getValueOptional(context, key, TO_INTEGER);
+    }
+
+    /**
+     * Read property value and convert it to {@code Long}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return property value or null.
+     * @throws MdcException in case property not found.
+     */
+    public Long getLong(MdcContext context, String key) throws MdcException {
+        return getValue(context, key, TO_LONG);
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional<Long>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Optional} of property value.
+     */
+    public Optional<Long> getLongOptional(MdcContext context, String key) {
+        return getValueOptional(context, key, TO_LONG);
+    }
+
+    /**
+     * Read property value and convert it to {@code List<String>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code List} of property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public List<String> getStringList(MdcContext context, String key) throws MdcException {
+        return getValueList(context, key, TO_STRING);
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional<List<String>>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Optional<List>} of property values or null.
+     */
+    public Optional<List<String>> getStringListOptional(MdcContext context, String key) {
+        return getValueListOptional(context, key, TO_STRING);
+    }
+
+    /**
+     * Read property value and convert it to {@code List<Boolean>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code List} of property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public List<Boolean> getBooleanList(MdcContext context, String key) throws MdcException {
+        return getValueList(context, key, TO_BOOLEAN);
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional<List<Boolean>>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Optional<List>} of property values or null.
+     */
+    public Optional<List<Boolean>> getBooleanListOptional(MdcContext context, String key) {
+        return getValueListOptional(context, key, TO_BOOLEAN);
+    }
+
+    /**
+     * Read property value and convert it to {@code List<Float>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code List} of property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public List<Float> getFloatList(MdcContext context, String key) throws MdcException {
+        return getValueList(context, key, TO_FLOAT);
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional<List<Float>>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Optional<List>} of property values or null.
+     */
+    public Optional<List<Float>> getFloatListOptional(MdcContext context, String key) {
+        return getValueListOptional(context, key, TO_FLOAT);
+    }
+
+    /**
+     * Read property value and convert it to {@code List<Double>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code List} of property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public List<Double> getDoubleList(MdcContext context, String key) throws MdcException {
+        return getValueList(context, key, TO_DOUBLE);
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional<List<Double>>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Optional<List>} of property values or null.
+     */
+    public Optional<List<Double>> getDoubleListOptional(MdcContext context, String key) {
+        return getValueListOptional(context, key, TO_DOUBLE);
+    }
+
+    /**
+     * Read property value and convert it to {@code List<Short>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code List} of property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public List<Short> getShortList(MdcContext context, String key) throws MdcException {
+        return getValueList(context, key, TO_SHORT);
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional<List<Short>>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Optional<List>} of property values or null.
+     */
+    public Optional<List<Short>> getShortListOptional(MdcContext context, String key) {
+        return getValueListOptional(context, key, TO_SHORT);
+    }
+
+    /**
+     * Read property value and convert it to {@code List<Integer>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code List} of property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public List<Integer> getIntegerList(MdcContext context, String key) throws MdcException {
+        return getValueList(context, key, TO_INTEGER);
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional<List<Integer>>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Optional<List>} of property values or null.
+     */
+    public Optional<List<Integer>> getIntegerListOptional(MdcContext context, String key) {
+        return getValueListOptional(context, key, TO_INTEGER);
+    }
+
+    /**
+     * Read property value and convert it to {@code List<Long>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code List} of property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public List<Long> getLongList(MdcContext context, String key) throws MdcException {
+        return getValueList(context, key, TO_LONG);
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional<List<Long>>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Optional<List>} of property values or null.
+     */
+    public Optional<List<Long>> getLongListOptional(MdcContext context, String key) {
+        return getValueListOptional(context, key, TO_LONG);
+    }
+
+    /**
+     * Read property value as {@code int}, value of chain without references is parsed once per chain
+     * and unboxed on each read. Unlike {@link #getInteger(MdcContext, String)} that throws
+     * {@code NumberFormatException}, value that is not a number returns default value.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param defaultValue value returned if property is not found, disabled, null, can't be resolved
+     *                     or converted.
+     * @return property value or default value.
+     */
+    public int getInt(MdcContext context, String key, int defaultValue) {
+        Integer value = findConverted(context, key, TO_INTEGER);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Read property value as {@code long}, value of chain without references is parsed once per chain
+     * and unboxed on each read. Unlike {@link #getLong(MdcContext, String)} that throws
+     * {@code NumberFormatException}, value that is not a number returns default value.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param defaultValue value returned if property is not found, disabled, null, can't be resolved
+     *                     or converted.
+     * @return property value or default value.
+     */
+    public long getLong(MdcContext context, String key, long defaultValue) {
+        Long value = findConverted(context, key, TO_LONG);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Read property value as {@code double}, value of chain without references is parsed once per chain
+     * and unboxed on each read. Unlike {@link #getDouble(MdcContext, String)} that throws
+     * {@code NumberFormatException}, value that is not a number returns default value.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param defaultValue value returned if property is not found, disabled, null, can't be resolved
+     *                     or converted.
+     * @return property value or default value.
+     */
+    public double getDouble(MdcContext context, String key, double defaultValue) {
+        Double value = findConverted(context, key, TO_DOUBLE);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Read property value as {@code boolean}, value of chain without references is parsed once per chain.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param defaultValue value returned if property is not found, disabled, null or can't be resolved.
+     * @return property value or default value.
+     */
+    public boolean getBoolean(MdcContext context, String key, boolean defaultValue) {
+        Boolean value = findConverted(context, key, TO_BOOLEAN);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Read property value and convert it to {@code int[]}. Parsed array is cached per chain, copy of it is returned.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public int[] getIntArray(MdcContext context, String key) throws MdcException {
+        int[] values = getArray(context, key, INT_ARRAY_PARSER);
+        return values != null ? values.clone() : null;
+    }
+
+    /**
+     * Read property value and convert it to {@code long[]}. Parsed array is cached per chain, copy of it is returned.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public long[] getLongArray(MdcContext context, String key) throws MdcException {
+        long[] values = getArray(context, key, LONG_ARRAY_PARSER);
+        return values != null ? values.clone() : null;
+    }
+
+    /**
+     * Read property value and convert it to {@code double[]}. Parsed array is cached per chain, copy of it is returned.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public double[] getDoubleArray(MdcContext context, String key) throws MdcException {
+        double[] values = getArray(context, key, DOUBLE_ARRAY_PARSER);
+        return values != null ? values.clone() : null;
+    }
+
+    /**
+     * Read property value and convert it to {@code Map<String,String>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Map} of property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public Map<String, String> getStringMap(MdcContext context, String key) throws MdcException {
+        return getMap(context, key, TO_STRING, TO_STRING);
+    }
+
+    /**
+     * Read property value and convert it to {@code Map<String,Double>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Map} of property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public Map<String, Double> getDoubleMap(MdcContext context, String key) throws MdcException {
+        return getMap(context, key, TO_STRING, TO_DOUBLE);
+    }
+
+    /**
+     * Read property value and convert it to {@code Map<String,Integer>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Map} of property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public Map<String, Integer> getIntegerMap(MdcContext context, String key) throws MdcException {
+        return getMap(context, key, TO_STRING, TO_INTEGER);
+    }
+
+    /**
+     * Read property value and convert it to {@code Map<String,Boolean>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Map} of property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public Map<String, Boolean> getBooleanMap(MdcContext context, String key) throws MdcException {
+        return getMap(context, key, TO_STRING, TO_BOOLEAN);
+    }
+
+    /**
+     * Read property value and convert it to {@code Map<String,Float>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Map} of property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public Map<String, Float> getFloatMap(MdcContext context, String key) throws MdcException {
+        return getMap(context, key, TO_STRING, TO_FLOAT);
+    }
+
+    /**
+     * Read property value and convert it to {@code Map<String,Long>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Map} of property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public Map<String, Long> getLongMap(MdcContext context, String key) throws MdcException {
+        return getMap(context, key, TO_STRING, TO_LONG);
+    }
+
+    /**
+     * Read property value and convert it to {@code Map<String,Short>}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Map} of property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public Map<String, Short> getShortMap(MdcContext context, String key) throws MdcException {
+        return getMap(context, key, TO_STRING, TO_SHORT);
+    }
+
+    /**
+     * Read property value and convert it to provided type.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param converter {@code Function} that takes String and converts it to specified type.
+     * @return property value or null.
+     * @param <T> type in which value suppose to be converted
+     * @throws MdcException  in case property not found.
+     */
+    public <T> T getValue(MdcContext context, String key, Function<String, T> converter) throws MdcException {
+        ReadContext read = read(context);
+        Property property = getProperty(key, read);
+        return getTypedValue(property, read, converter);
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional} of provided type.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param converter {@code Function} that takes String and converts it to specified type.
+     * @return {@code Optional} of property value.
+     * @param <T> type in which value suppose to be converted
+     */
+    public <T> Optional<T> getValueOptional(MdcContext context, String key, Function<String, T> converter) {
+        return findValue(context, key, (property, read) -> getTypedValue(property, read, converter));
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional} of provided scalar class.
+     * Supported classes:
+     * <ul>
+     *   <li>String</li>
+     *   <li>Boolean, boolean</li>
+     *   <li>Integer, int</li>
+     *   <li>Long, long</li>
+     *   <li>Short, short</li>
+     *   <li>Double, double</li>
+     *   <li>Float, float</li>
+     * </ul>
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param clas Class in which result suppose to be converted.
+     * @return property value or null.
+     * @param <T> type in which value suppose to be converted
+     * @throws MdcException in case property not found or provided class is not primitive.
+     */
+    public <T> T getScalar(MdcContext context, String key, Class<T> clas) throws MdcException {
+        Function<String, T> converter = scalarConverter(clas);
+        ReadContext read = read(context);
+        Property property = getProperty(key, read);
+        return getTypedValue(property, read, converter);
+    }
+
+    /**
+     * Read property value and convert it to provided scalar type.
+     * Supported classes:
+     * <ul>
+     *   <li>String</li>
+     *   <li>Boolean, boolean</li>
+     *   <li>Integer, int</li>
+     *   <li>Long, long</li>
+     *   <li>Short, short</li>
+     *   <li>Double, double</li>
+     *   <li>Float, float</li>
+     * </ul>
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param clas Class in which result suppose to be converted.
+     * @return {@code Optional} of property value.
+     * @param <T> type in which value suppose to be converted
+     */
+    public <T> Optional<T> getScalarOptional(MdcContext context, String key, Class<T> clas) {
+        return findValue(context, key, (property, read) -> getTypedValue(property, read, scalarConverter(clas)));
+    }
+
+    /**
+     * Iterate through list based dimension with provided name, read property value for each and convert it to provided type.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param splitBy name of List based dimension represented in context
+     * @param converter {@code Function} that takes String and converts it to specified type.
+     * @return List of iterated property values or empty list.
+     * @param <T> type in which value suppose to be converted
+     * @throws MdcException  in case property not found.
+     */
+    public <T> List<T> getSplitValue(MdcContext context, String key, String splitBy, Function<String, T> converter) throws MdcException {
+        ReadContext read = read(context);
+        Property property = getProperty(key, read);
+        return getSplitStringValue(property, read, splitBy).stream()
+                .map(converter)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Read property value and convert it to {@code List} of provided type.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param converter {@code Function} that takes String and converts it to specified type.
+     * @return {@code List} of property values or null.
+     * @param <T> type in which each value in list suppose to be converted
+     * @throws MdcException in case property not found.
+     */
+    public <T> List<T> getValueList(MdcContext context, String key, Function<String, T> converter) throws MdcException {
+        ReadContext read = read(context);
+        Property property = getProperty(key, read);
+        return getParsedValue(property, read, listParser(converter));
+    }
+
+    /**
+     * Read property value and convert it to {@code Optional<List>} of provided type.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param converter {@code Function} that takes String and converts it to specified type.
+     * @return {@code Optional<List>} of property value.
+     * @param <T> type in which each value in list suppose to be converted
+     */
+    public <T> Optional<List<T>> getValueListOptional(MdcContext context, String key, Function<String, T> converter) {
+        return findValue(context, key, (property, read) -> getParsedValue(property, read, listParser(converter)));
+    }
+
+    /**
+     * Read property value and convert it to {@code List} of provided type.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param converter {@code Function} that takes String and converts it to specified type.
+     * @return {@code List} of property values or null.
+     * @param <T> type in which each value in list suppose to be converted
+     * @throws MdcException in case property not found.
+     */
+    public <T> List<List<T>> getSplitValueList(MdcContext context, String key, String splitBy, Function<String, T> converter) throws MdcException {
+        ReadContext read = read(context);
+        Property property = getProperty(key, read);
+        Function<String, List<T>> parser = listParser(converter);
+        List<Chain> chains = property.getSplitChains(read, splitBy);
+        List<List<T>> result = new ArrayList<>(chains.size());
+        for (Chain chain : chains) {
+            result.add(parseChainValue(chain, read, parser));
+        }
+        return result;
+    }
+
+    /**
+     * Read property value and convert it to {@code Map} of provided type.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param keyConverter {@code Function} that converts key to specified type.
+     * @param valueConverter {@code Function} that converts value to specified type.
+     * @param <K> type in which each key in map suppose to be converted.
+     * @param <V> type in which each value in map suppose to be converted.
+     * @return {@code Map} of property values or null.
+     * @throws MdcException in case property not found.
+     */
+    public <K, V> Map<K, V> getMap(MdcContext context, String key, Function<String, K> keyConverter, Function<String, V> valueConverter) throws MdcException {
+        ReadContext read = read(context);
+        Property property = getProperty(key, read);
+        Function<String, Map<K, V>> parser = sharedMapParser(keyConverter, valueConverter);
+        return getParsedValue(property, read,
+                parser != null ? parser : v -> parseMap(v, keyConverter, valueConverter));
+    }
+
+    /**
+     * Resolve many properties at once. Context is encoded once, each distinct selector, enablement
+     * of each property and each referenced value are evaluated once for all keys.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param keys property names, normalized names are used as keys of result.
+     * @return {@link ResolvedConfig} without properties that are not found, disabled or can't be resolved.
+     */
+    public ResolvedConfig getAll(MdcContext context, Collection<String> keys) {
+        ReadContext read = read(context);
+        read.rememberSelectorMatches();
+        Map<String, Property> properties = new TreeMap<>();
+        for (String key : keys) {
+            Property property = findProperty(key, read);
+            if (property != null) {
+                properties.put(processKey(key), property);
+            }
+        }
+        return resolveAll(properties, read);
+    }
+
+    /**
+     * Resolve all properties with name that equals to prefix or starts with prefix followed by {@code .},
+     * see {@link #getAll(MdcContext, Collection)}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param prefix name of compound property, empty prefix resolves all properties.
+     * @return {@link ResolvedConfig} where keys are property names.
+     */
+    public ResolvedConfig getAllUnder(MdcContext context, String prefix) {
+        ReadContext read = read(context);
+        read.rememberSelectorMatches();
+        String root = processKey(prefix);
+        String subRoot = root + ".";
+        Map<String, Property> properties = new TreeMap<>();
+        for (Map.Entry<String, Property> entry : read.getProperties().entrySet()) {
+            String name = entry.getKey();
+            if ((root.isEmpty() || name.equals(root) || name.startsWith(subRoot)) && entry.getValue().isEnabled(read)) {
+                properties.put(name, entry.getValue());
+            }
+        }
+        return resolveAll(properties, read);
+    }
+
+    /**
+     * Read compound property and return result as Tree (based on maps).
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @return {@code Map} of property values.
+     * @throws MdcException in case property not found.
+     */
+    public Map<String, Object> getCompoundMap(MdcContext context, String key) throws MdcException {
+        ReadContext read = read(context);
+        Map<String, Object> result = new LinkedHashMap<>();
+        List<Property> propertyList = listCompoundProperty(read, key);
+        for (Property property : propertyList) {
+            String subKey = property.getName().substring(key.length());
+            String[] path = SUB_PROPERTY_SEPARATOR.split(subKey);
+            String value = getStringValue(property, read);
+            if (value != null) {
+                Map<String, Object> leaf = getOrCreateLeaf(result, path);
+                leaf.put(path[path.length - 1], value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Read compound property and return result as JSON.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param prettify prettify response.
+     * @return JSON string of property values.
+     * @throws MdcException in case property not found.
+     */
+    public String getCompoundJSON(MdcContext context, String key, boolean prettify) throws MdcException {
+        try {
+            Map<String, Object> map = getCompoundMap(context, key);
+            return prettify
+                    ? OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(map)
+                    : OBJECT_MAPPER.writeValueAsString(map);
+        } catch (JsonProcessingException e) {
+            throw new MdcException("Couldn't deserialize object", e);
+        }
+    }
+
+    /**
+     * Read compound property and return result as POJO object.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param clas Class in which result suppose to be converted.
+     * @param <T> type in which result suppose to be converted.
+     * @return {@code Map} of property values.
+     * @throws MdcException in case property not found.
+     */
+    public <T> T getCompoundObject(MdcContext context, String key, Class<T> clas) throws MdcException {
+        Map<String, Object> map = getCompoundMap(context, key);
+        return OBJECT_MAPPER.convertValue(map, clas);
+    }
+
+    /**
+     * Read compound property and return result as POJO object.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param toValueType type in which result suppose to be converted.
+     * @param <T> type in which result suppose to be converted.
+     * @return {@code Map} of property values.
+     * @throws MdcException in case property not found.
+     */
+    public <T> T getCompoundObject(MdcContext context, String key, JavaType toValueType) throws MdcException {
+        Map<String, Object> map = getCompoundMap(context, key);
+        return OBJECT_MAPPER.convertValue(map, toValueType);
+    }
+
+    /**
+     * Read compound property and return result as POJO object.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param toValueTypeRef type reference in which result suppose to be converted.
+     * @param <T> type in which result suppose to be converted.
+     * @return {@code Map} of property values.
+     * @throws MdcException in case property not found.
+     */
+    public <T> T getCompoundObject(MdcContext context, String key, TypeReference<T> toValueTypeRef) throws MdcException {
+        Map<String, Object> map = getCompoundMap(context, key);
+        return OBJECT_MAPPER.convertValue(map, toValueTypeRef);
+    }
+
+    /**
+     * Read List that contains references to compound properties and return result as List of objects.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param classResolver Function that takes key and returns class in which result suppose to be converted.
+     * @param <T> type in which result suppose to be converted.
+     * @return {@code List} of property values.
+     * @throws MdcException in case property not found or property doesn't contain references.
+     */
+    public <T> List<T> getCompoundObjectListByClass(MdcContext context, String key, Function<String, Class<? extends T>> classResolver) throws MdcException {
+        return getCompoundObjectList(context, key, (ctx, k) -> getCompoundObject(context, k, classResolver.apply(k)));
+    }
+
+    /**
+     * Read List that contains references to compound properties and return result as List of objects.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param typeResolver Function that takes key and returns type in which result suppose to be converted.
+     * @param <T> type in which result suppose to be converted.
+     * @return {@code List} of property values.
+     * @throws MdcException in case property not found or property doesn't contain references.
+     */
+    public <T> List<T> getCompoundObjectListByType(MdcContext context, String key, Function<String, JavaType> typeResolver) throws MdcException {
+        return getCompoundObjectList(context, key, (ctx, k) -> getCompoundObject(context, k, typeResolver.apply(k)));
+    }
+
+    /**
+     * Read List that contains references to compound properties and return result as List of objects.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param key property name.
+     * @param typeRefResolver Function that takes key and returns type reference in which result suppose to be converted.
+     * @param <T> type in which result suppose to be converted.
+     * @return {@code List} of property values.
+     * @throws MdcException in case property not found or property doesn't contain references.
+     */
+    public <T> List<T> getCompoundObjectListByTypeReference(MdcContext context, String key, Function<String, TypeReference<? extends T>> typeRefResolver) throws MdcException {
+        return getCompoundObjectList(context, key, (ctx, k) -> getCompoundObject(context, k, typeRefResolver.apply(k)));
+    }
+
+    private <T> List<T> getCompoundObjectList(MdcContext context, String key, BiFunction<MdcContext, String, ? extends T> itemReader) throws MdcException {
+        ReadContext read = read(context);
+        Property property = getProperty(key, read);
+        String listString = Optional.ofNullable(property.getString(read))
+                .map(s -> LIST_SIGN_PATTERN.matcher(s).replaceAll(""))
+                .orElse(null);
+
+        if(listString == null){
+            return null; //NOSONAR
+        }
+        if(!property.isHasReference()) {
+            throw new MdcException(String.format("Value for key %s doesn't contain property references", key));
+        }
+
+        List<T> result = new ArrayList<>();
+        if(StringUtils.isNotEmpty(listString)) {
+            for (String k: COMMA_PATTERN.split(listString)) {
+                String item = StringUtils.trim(k);
+                Matcher m = REFERENCE_PATTERN.matcher(item);
+                while (m.find()) {
+                    Pair<String, String> ref = getRef(m.group(1));
+                    if(ref != null && ref.getLeft().equals(REF_TYPE_MDC)) {
+                        result.add(itemReader.apply(context, ref.getRight()));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+    private ResolvedConfig resolveAll(Map<String, Property> properties, ReadContext read) {
+        List<String> keys = new ArrayList<>(properties.size());
+        List<String> values = new ArrayList<>(properties.size());
+        List<Chain> chains = new ArrayList<>(properties.size());
+        for (Map.Entry<String, Property> entry : properties.entrySet()) {
+            try {
+                Chain chain = entry.getValue().getChain(read);
+                String value = getChainValue(chain, read);
+                keys.add(entry.getKey());
+                values.add(value);
+                chains.add(chain != null && chain.isPlain() ? chain : null);
+            } catch (MdcException e) {
+                // property with unresolvable references is absent
+            }
+        }
+        return new ResolvedConfig(keys.toArray(new String[0]), values.toArray(new String[0]), chains.toArray(new Chain[0]),
+                this::processKey);
+    }
+
+    String processKey(String key) {
+        return keySensitive ? key : key.toLowerCase(Locale.ROOT);
+    }
+    boolean isKeySensitive() {
+        return keySensitive;
+    }
+
+    Property getProperty(String key, ReadContext context) throws MdcException {
+        Property property = findProperty(key, context);
+        if (property == null) {
+            throw lookupMiss(key, context);
+        }
+        return property;
+    }
+
+    /** Find property enabled for context, return null if property is not found or disabled. */
+    private Property findProperty(String key, ReadContext context) {
+        Property property = context.getProperties().get(processKey(key));
+        return property != null && property.isEnabled(context) ? property : null;
+    }
+
+    /** Create exception that describes why property wasn't found. */
+    private MdcException lookupMiss(String key, ReadContext context) {
+        return context.getProperties().containsKey(processKey(key))
+                ? new MdcLookupException(String.format("Property %s is disabled.", key))
+                : new MdcLookupException(String.format("Property %s not found.", key));
+    }
+
+    /**
+     * Read value of property without throwing exception if property is not found or disabled.
+     * Failures of value resolving, like missing referenced property, are also returned as empty value.
+     */
+    private <T> Optional<T> findValue(MdcContext context, String key, ValueReader<T> reader) {
+        return Optional.ofNullable(findValueOrNull(context, key, reader));
+    }
+
+    /** The same as {@link #findValue(MdcContext, String, ValueReader)}, but returns null instead of empty value. */
+    private <T> T findValueOrNull(MdcContext context, String key, ValueReader<T> reader) {
+        return findValueOrNull(read(context), key, reader);
+    }
+
+    /**
+     * Read value converted by predefined converter, return null if property is not found, disabled,
+     * can't be resolved or its value can't be converted.
+     */
+    private <T> T findConverted(MdcContext context, String key, Function<String, T> converter) {
+        ReadContext read = read(context);
+        Property property = findProperty(key, read);
+        if (property == null) {
+            return null;
+        }
+        try {
+            return getTypedValue(property, read, converter);
+        } catch (MdcException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    <T> T findValueOrNull(ReadContext read, String key, ValueReader<T> reader) {
+        Property property = findProperty(key, read);
+        if (property == null) {
+            return null;
+        }
+        try {
+            return reader.read(property, read);
+        } catch (MdcException e) {
+            return null;
+        }
+    }
+
+    private <T> T getArray(MdcContext context, String key, Function<String, T> parser) throws MdcException {
+        ReadContext read = read(context);
+        Property property = getProperty(key, read);
+        return getParsedValue(property, read, parser);
+    }
+
+    private Property checkEnabled(Property property, String key, ReadContext context) throws MdcException {
+        if(!property.isEnabled(context)){
+            throw new MdcLookupException(String.format("Property %s is disabled.", key));
+        }
+        return property;
+    }
+
+    private String getStringValue(Property property, ReadContext context) throws MdcException {
+        ResultCache cache = context.getCache();
+        return cache != null
+                ? cache.get(property, context.getContext(), () -> resolveStringValue(property, context))
+                : resolveStringValue(property, context);
+    }
+
+    /**
+     * Convert property value. Without result cache values of chains without references converted by predefined
+     * converters are cached in chains, other values are converted on each call.
+     */
+    <T> T getTypedValue(Property property, ReadContext context, Function<String, T> converter) throws MdcException {
+        if (context.getCache() != null) {
+            String value = getStringValue(property, context);
+            return value != null ? converter.apply(value) : null;
+        }
+        Chain chain = property.getChain(context);
+        if (chain == null) {
+            return null;
+        }
+        if (chain.isPlain() && isSharedConverter(converter)) {
+            return chain.convert(converter, nativeConverter(converter));
+        }
+        String value = getChainValue(chain, context);
+        return value != null ? converter.apply(value) : null;
+    }
+
+    /**
+     * Parse property value. Values of chains without references parsed by shared parsers are cached in chains,
+     * other values are resolved and parsed on each call.
+     */
+    <T> T getParsedValue(Property property, ReadContext context, Function<String, T> parser) throws MdcException {
+        Chain chain = property.getChain(context);
+        if (chain == null) {
+            return null;
+        }
+        if (chain.isPlain() || context.getCache() == null) {
+            return parseChainValue(chain, context, parser);
+        }
+        String value = context.getCache().get(property, context.getContext(), () -> getChainValue(chain, context));
+        return value != null ? parser.apply(value) : null;
+    }
+
+    private <T> T parseChainValue(Chain chain, ReadContext context, Function<String, T> parser) throws MdcException {
+        if (chain.isPlain() && isSharedParser(parser)) {
+            return chain.convert(parser, nativeConverter(parser));
+        }
+        String value = getChainValue(chain, context);
+        return value != null ? parser.apply(value) : null;
+    }
+
+    static <T> Function<String, List<T>> listParser(Function<String, T> converter) {
+        Function<String, List<T>> parser = sharedListParser(converter);
+        return parser != null ? parser : v -> parseList(v, converter);
+    }
+
+    private String resolveStringValue(Property property, ReadContext context) throws MdcException {
+        return getChainValue(property.getChain(context), context);
+    }
+
+    private List<String> getSplitStringValue(Property property, ReadContext context, String splitBy) throws MdcException {
+        List<Chain> chains = property.getSplitChains(context, splitBy);
+        List<String> values = new ArrayList<>(chains.size());
+        for (Chain chain : chains) {
+            values.add(getChainValue(chain, context));
+        }
+        return values;
+    }
+
+    private String getChainValue(Chain chain, ReadContext context) throws MdcException {
+        if (chain == null) {
+            return null;
+        }
+        return chain.getTemplate() != null
+                ? resolveTemplate(chain.getTemplate(), context)
+                : chain.getValue();
+    }
+
+    /** Append template segments replacing references with their values, unresolved references are kept as is. */
+    private String resolveTemplate(Template template, ReadContext context) throws MdcException {
+        if (template.isConstant()) {
+            return template.getConstant();
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Template.Segment segment : template.getSegments()) {
+            String value = segment.getType() == Template.Type.LITERAL
+                    ? segment.getText()
+                    : getRefValue(context, segment);
+            sb.append(value != null ? value : segment.getText());
+        }
+        return sb.toString();
+    }
+
+    static Pair<String, String> getRef(String refKeyGroup){
+        int refKeyIndex = refKeyGroup.indexOf(REF_KEY_SEPARATOR);
+        if(refKeyIndex > 1) {
+            String refType = refKeyGroup.substring(0, refKeyIndex);
+            String refKey = refKeyGroup.substring(refKeyIndex + 1);
+            return Pair.of(refType, refKey);
+        }
+        return null;
+    }
+
+    private String getRefValue(ReadContext context, Template.Segment segment) throws MdcException {
+        if (segment.getType() == Template.Type.CTX) {
+            return getCtxStringValue(context.getContext(), segment.getKey());
+        }
+        Property property = segment.getProperty();
+        if (property == null) {
+            throw new MdcLookupException(String.format("Property %s not found.", segment.getKey()));
+        }
+        String value = context.getResolved(property);
+        if (value == null && !context.isResolved(property)) {
+            value = getStringValue(checkEnabled(property, segment.getKey(), context), context);
+            context.putResolved(property, value);
+        }
+        return value;
+    }
+
+    private String getCtxStringValue( MdcContext context, String key) {
+        if(context.containsKey(key)) {
+            return String.valueOf(context.get(key));
+        }
+        return null;
+    }
+
+    private  List<Property> listCompoundProperty(ReadContext context, String key) throws MdcException {
+        final String keyPart = processKey(key);
+        Pattern pattern = Pattern.compile(String.format(ROOT_PROPERTY, Pattern.quote(keyPart)));
+        // Could impact performance
+        List<Property> result = context.getProperties().entrySet().stream()
+                .filter(e -> pattern.matcher(e.getKey()).find())
+                .map(Map.Entry::getValue)
+                .filter(p->p.isEnabled(context))
+                .collect(Collectors.toList());
+        if(result.isEmpty()){
+            throw new MdcLookupException(String.format("Property %s not found.", key));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getOrCreateLeaf(Map<String, Object> root, String[] path) {
+        Map<String, Object> leaf = root;
+        if(path.length > 2) {
+            for (int i = 1; i < path.length-1; i++) {
+                if(!leaf.containsKey(path[i])){
+                    leaf.put(path[i], new LinkedHashMap<>());
+                }
+                leaf = (Map<String, Object>) leaf.get(path[i]);
+            }
+        }
+        return leaf;
+    }
+
+    @FunctionalInterface
+    interface ValueReader<T> {
+        T read(Property property, ReadContext context) throws MdcException;
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.provider;
+
+import lombok.Getter;
+import org.mdcfg.model.DimensionRegistry;
+import org.mdcfg.model.Property;
+import org.mdcfg.processor.ProcessedConfig;
+
+import java.util.Map;
+
+/**
+ * Immutable result of one successful load: processed properties with registry their selectors were encoded with
+ * and cache of their values. Snapshot is fully built before it is published, and replaced as a whole on reload,
+ * so readers that took it keep reading consistent config.
+ */
+@Getter
+class ConfigSnapshot {
+    /** version of snapshot, incremented by each successful load starting from 1 */
+    private final long version;
+    /** processed properties, next load reuses properties which source data wasn't changed */
+    private final ProcessedConfig processed;
+    private final ResultCache cache;
+
+    ConfigSnapshot(long version, ProcessedConfig processed, ResultCache cache) {
+        this.version = version;
+        this.processed = processed;
+        this.cache = cache;
+    }
+
+    Map<String, Property> getProperties() {
+        return processed.getProperties();
+    }
+
+    DimensionRegistry getRegistry() {
+        return processed.getRegistry();
+    }
+}
@@ -3,12 +3,14 @@
  */
 package org.mdcfg.provider;
 
+import org.apache.commons.lang3.StringUtils;
 import org.mdcfg.exceptions.MdcException;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 public class MdcConverter {
     private MdcConverter() {}
@@ -21,32 +23,228 @@ public class MdcConverter {
     public static final Function<String, Float> TO_FLOAT = Float::parseFloat;
     public static final Function<String, Double> TO_DOUBLE = Double::parseDouble;
 
-    private static final Map<String, Function<String, ?>> CONVERTERS;
-    
+    private static final Pattern LIST_SIGN_PATTERN = Pattern.compile("[\\[\\]]");
+    private static final Pattern COMMA_PATTERN = Pattern.compile(",");
+    private static final Pattern LINE_PATTERN = Pattern.compile("\n");
+    private static final Pattern MAP_ENTRY_PATTERN = Pattern.compile(":");
+
+    private static final Map<Class<?>, Function<String, ?>> BASE_CONVERTERS = Map.ofEntries(
+            Map.entry(String.class, TO_STRING),
+            Map.entry(boolean.class, TO_BOOLEAN),
+            Map.entry(Boolean.class, TO_BOOLEAN),
+            Map.entry(short.class, TO_SHORT),
+            Map.entry(Short.class, TO_SHORT),
+            Map.entry(int.class, TO_INTEGER),
+            Map.entry(Integer.class, TO_INTEGER),
+            Map.entry(long.class, TO_LONG),
+            Map.entry(Long.class, TO_LONG),
+            Map.entry(float.class, TO_FLOAT),
+            Map.entry(Float.class, TO_FLOAT),
+            Map.entry(double.class, TO_DOUBLE),
+            Map.entry(Double.class, TO_DOUBLE));
+
+    /** converters of supported scalar classes, blank values are read as null */
+    private static final Map<Class<?>, Function<String, ?>> SCALAR_CONVERTERS;
+    /** shared parsers of lists with predefined element converters, so parsed lists can be cached per converter */
+    private static final Map<Function<String, ?>, Function<String, List<?>>> LIST_PARSERS;
+    /** shared parsers of maps with String keys and predefined value converters */
+    private static final Map<Function<String, ?>, Function<String, Map<String, ?>>> MAP_PARSERS;
+    private static final Set<Function<String, ?>> SHARED_PARSERS;
+    /** predefined converters and shared parsers which results are immutable or copied by callers */
+    private static final Set<Function<String, ?>> SHARED_CONVERTERS;
+    /** converters of values parsed by source, by shared converter or parser they replace */
+    private static final Map<Function<String, ?>, Function<Object, ?>> NATIVE_CONVERTERS;
+
+    /** shared parsers of lists into primitive arrays, arrays are cached in chains, so they must be copied */
+    static final Function<String, int[]> INT_ARRAY_PARSER =
+            v -> parseList(v, TO_INTEGER).stream().mapToInt(Integer::intValue).toArray();
+    static final Function<String, long[]> LONG_ARRAY_PARSER =
+            v -> parseList(v, TO_LONG).stream().mapToLong(Long::longValue).toArray();
+    static final Function<String, double[]> DOUBLE_ARRAY_PARSER =
+            v -> parseList(v, TO_DOUBLE).stream().mapToDouble(Double::doubleValue).toArray();
+
+    /** converters of supported scalar classes, null for unsupported class */
+    private static final ClassValue<Function<String, ?>> CONVERTERS = new ClassValue<>() {
+        @Override
+        protected Function<String, ?> computeValue(Class<?> type) {
+            return SCALAR_CONVERTERS.get(type);
+        }
+    };
+
     static {
-        Map<String, Function<String, ?>> map = new HashMap<>();
-        map.put("java.lang.String", TO_STRING);
-        map.put("boolean", TO_BOOLEAN);
-        map.put("java.lang.Boolean", TO_BOOLEAN);
-        map.put("short", TO_SHORT);
-        map.put("java.lang.Short", TO_SHORT);
-        map.put("int", TO_INTEGER);
-        map.put("java.lang.Integer", TO_INTEGER);
-        map.put("long", TO_LONG);
-        map.put("java.lang.Long", TO_LONG);
-        map.put("float", TO_FLOAT);
-        map.put("java.lang.Float", TO_FLOAT);
-        map.put("double", TO_DOUBLE);
-        map.put("java.lang.Double", TO_DOUBLE);
-        CONVERTERS = Map.copyOf(map);
+        Map<Function<String, ?>, Function<String, ?>> scalars = new HashMap<>();
+        Map<Function<String, ?>, Function<String, List<?>>> lists = new HashMap<>();
+        Map<Function<String, ?>, Function<String, Map<String, ?>>> maps = new HashMap<>();
+        Map<Function<String, ?>, Function<Object, ?>> natives = new IdentityHashMap<>();
+        for (Function<String, ?> converter : new HashSet<>(BASE_CONVERTERS.values())) {
+            Function<String, ?> scalar = v -> StringUtils.isNotBlank(v) ? converter.apply(v) : null;
+            Function<String, List<?>> list = v -> parseList(v, converter);
+            Function<Object, ?> nativeScalar = v -> fromNative(converter, v);
+            scalars.put(converter, scalar);
+            lists.put(converter, list);
+            maps.put(converter, v -> parseMap(v, TO_STRING, converter));
+            natives.put(converter, nativeScalar);
+            natives.put(scalar, nativeScalar);
+            natives.put(list, v -> fromNativeList(converter, v));
+        }
+        Map<Class<?>, Function<String, ?>> scalarsByClass = new HashMap<>();
+        BASE_CONVERTERS.forEach((type, converter) -> scalarsByClass.put(type, scalars.get(converter)));
+        SCALAR_CONVERTERS = Map.copyOf(scalarsByClass);
+        LIST_PARSERS = Map.copyOf(lists);
+        MAP_PARSERS = Map.copyOf(maps);
+        natives.put(INT_ARRAY_PARSER, v -> toIntArray(fromNativeList(TO_INTEGER, v)));
+        natives.put(LONG_ARRAY_PARSER, v -> toLongArray(fromNativeList(TO_LONG, v)));
+        natives.put(DOUBLE_ARRAY_PARSER, v -> toDoubleArray(fromNativeList(TO_DOUBLE, v)));
+        NATIVE_CONVERTERS = Collections.unmodifiableMap(natives);
+        Set<Function<String, ?>> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+        shared.addAll(lists.values());
+        shared.addAll(maps.values());
+        shared.addAll(List.of(INT_ARRAY_PARSER, LONG_ARRAY_PARSER, DOUBLE_ARRAY_PARSER));
+        SHARED_PARSERS = Collections.unmodifiableSet(shared);
+        Set<Function<String, ?>> converters = Collections.newSetFromMap(new IdentityHashMap<>());
+        converters.addAll(BASE_CONVERTERS.values());
+        converters.addAll(scalars.values());
+        converters.addAll(shared);
+        SHARED_CONVERTERS = Collections.unmodifiableSet(converters);
     }
 
-    @SuppressWarnings("unchecked")
     public static <T> T convertScalar(Class<T> clas, String value) throws MdcException {
-        Function<String, ?> converter = CONVERTERS.get(clas.getCanonicalName());
+        return scalarConverter(clas).apply(value);
+    }
+
+    /**
+     * Get converter of scalar class, blank values are converted to null.
+     *
+     * @throws MdcException if class is not scalar or supported.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Function<String, T> scalarConverter(Class<T> clas) throws MdcException {
+        Function<String, ?> converter = CONVERTERS.get(clas);
         if (converter == null) {
             throw new MdcException(String.format("Provided class: %s is not scalar or supported", clas.getCanonicalName()));
         }
-        return (T) converter.apply(value);
+        return (Function<String, T>) converter;
+    }
+
+    /**
+     * Get shared parser of list with predefined element converter.
+     *
+     * @return parser or null if converter is not predefined.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Function<String, List<T>> sharedListParser(Function<String, T> converter) {
+        return (Function<String, List<T>>) (Function<String, ?>) LIST_PARSERS.get(converter);
+    }
+
+    /**
+     * Get shared parser of map with String keys and predefined value converter.
+     *
+     * @return parser or null if converters are not predefined.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> Function<String, Map<K, V>> sharedMapParser(Function<String, K> keyConverter, Function<String, V> valueConverter) {
+        return (Object) keyConverter == TO_STRING
+                ? (Function<String, Map<K, V>>) (Function<String, ?>) MAP_PARSERS.get(valueConverter)
+                : null;
+    }
+
+    /** Check whether parser is shared, so its results can be cached. */
+    static boolean isSharedParser(Function<String, ?> parser) {
+        return SHARED_PARSERS.contains(parser);
+    }
+
+    /**
+     * Check whether converter or parser is predefined, so its results can be cached and returned to all callers.
+     * Results of converters provided by callers may be mutable, so they are converted on each call.
+     */
+    static boolean isSharedConverter(Function<String, ?> converter) {
+        return SHARED_CONVERTERS.contains(converter);
+    }
+
+    /**
+     * Get converter of value parsed by source that gives the same result as provided converter or parser.
+     * Returned converter returns null if value can't be converted without loss.
+     *
+     * @return converter or null if provided converter is not predefined.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Function<Object, T> nativeConverter(Function<String, T> converter) {
+        return (Function<Object, T>) NATIVE_CONVERTERS.get(converter);
+    }
+
+    /** Parse list value like {@code [a, b]} into unmodifiable list of converted elements. */
+    static <T> List<T> parseList(String value, Function<String, T> converter) {
+        String listString = LIST_SIGN_PATTERN.matcher(value).replaceAll("");
+        if (StringUtils.isEmpty(listString)) {
+            return Collections.emptyList();
+        }
+        String[] items = COMMA_PATTERN.split(listString);
+        List<T> result = new ArrayList<>(items.length);
+        for (String item : items) {
+            result.add(converter.apply(StringUtils.trim(item)));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /** Parse map value of {@code key: value} lines into unmodifiable map, lines that are not pairs are skipped. */
+    static <K, V> Map<K, V> parseMap(String value, Function<String, K> keyConverter, Function<String, V> valueConverter) {
+        if (StringUtils.isEmpty(value)) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap(LINE_PATTERN.splitAsStream(value)
+                .filter(StringUtils::isNotBlank)
+                .map(MAP_ENTRY_PATTERN::split)
+                .filter(v -> v.length == 2)
+                .collect(Collectors.toMap(v -> keyConverter.apply(v[0].trim()),
+                        v -> valueConverter.apply(v[1].trim()))));
+    }
+
+    /** Take native scalar value if converter would return the same for its String form, otherwise return null. */
+    private static Object fromNative(Function<String, ?> converter, Object value) {
+        if (converter == TO_INTEGER) {
+            return value instanceof Integer ? value : null;
+        }
+        if (converter == TO_LONG) {
+            return value instanceof Integer || value instanceof Long ? (Object) ((Number) value).longValue() : null;
+        }
+        if (converter == TO_DOUBLE) {
+            return value instanceof Integer || value instanceof Double ? (Object) ((Number) value).doubleValue() : null;
+        }
+        if (converter == TO_BOOLEAN) {
+            return value instanceof Boolean ? value : null;
+        }
+        return null;
+    }
+
+    /**
+     * Convert native list of scalars element by element without splitting its String form,
+     * return null if list contains other values.
+     */
+    private static List<?> fromNativeList(Function<String, ?> converter, Object value) {
+        if (!(value instanceof List)) {
+            return null;
+        }
+        List<?> list = (List<?>) value;
+        List<Object> result = new ArrayList<>(list.size());
+        for (Object item : list) {
+            if (!(item instanceof String || item instanceof Number || item instanceof Boolean)) {
+                return null;
+            }
+            Object converted = fromNative(converter, item);
+            result.add(converted != null ? converted : converter.apply(item.toString()));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static int[] toIntArray(List<?> list) {
+        return list != null ? list.stream().mapToInt(v -> (Integer) v).toArray() : null;
+    }
+
+    private static long[] toLongArray(List<?> list) {
+        return list != null ? list.stream().mapToLong(v -> (Long) v).toArray() : null;
+    }
+
+    private static double[] toDoubleArray(List<?> list) {
+        return list != null ? list.stream().mapToDouble(v -> (Double) v).toArray() : null;
     }
 }
@@ -3,50 +3,38 @@
  */
 package org.mdcfg.provider;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.JavaType;
 import org.apache.commons.lang3.tuple.Pair;
 import org.mdcfg.builder.MdcCallback;
 import org.mdcfg.exceptions.MdcException;
 import org.mdcfg.model.Property;
 import org.mdcfg.model.Config;
+import org.mdcfg.processor.ProcessedConfig;
 import org.mdcfg.processor.Processor;
 import org.mdcfg.source.Source;
-import org.apache.commons.lang3.StringUtils;
+import org.mdcfg.watchers.ReloadCoordinator;
 
 import java.util.*;
-import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
 
 import static org.mdcfg.provider.MdcConverter.*;
 
 /**
- * Main Config class. Provides configuration by property name and context.
+ * Main Config class. Provides configuration by property name and context,
+ * getters defined in {@link ConfigReader} read currently served config.
  */
-public class MdcProvider {
-    @FunctionalInterface
-    private interface BiFunction<T, U, R> { R apply(T t, U u) throws MdcException; }
-
-    private static final Pattern LIST_SIGN_PATTERN = Pattern.compile("[\\[\\]]");
-    private static final Pattern SUB_PROPERTY_SEPARATOR = Pattern.compile("\\.");
-    private static final String ROOT_PROPERTY = "^%s($|\\.)";
-    private static final Pattern REFERENCE_PATTERN = Pattern.compile("\\$\\{([^}]+)}");
-    private static final Pattern COMMA_PATTERN = Pattern.compile(",");
-    private static final String REF_KEY_SEPARATOR = ":";
-    private static final String REF_TYPE_MDC = "mdc";
-    private static final String REF_TYPE_CTX = "ctx";
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
+public class MdcProvider extends ConfigReader {
     private final Processor processor;
     private final Source source;
     private final MdcCallback<Integer, MdcException> callback;
     private final Config config;
+    private final LongAdder cacheHits;
+    private final LongAdder cacheMisses;
 
-    private Map<String, Property> properties;
+    /** last successfully loaded config, published as a whole so readers never see partially built one */
+    private volatile ConfigSnapshot snapshot;
+    /** runs reloads one at a time, null if auto reload is off */
+    private ReloadCoordinator reloads;
 
     /**
      * Creates configured provider object. Do not instantiate it directly, use {@link org.mdcfg.builder.MdcBuilder}
@@ -56,16 +44,20 @@ public class MdcProvider {
      * @throws MdcException thrown in case something went wrong.
      */
     public MdcProvider(Source source, Config config) throws MdcException {
+        super(config.isKeySensitive());
         this.source = source;
         this.callback = config.getCallback();
         this.config = config;
+        this.cacheHits = new LongAdder();
+        this.cacheMisses = new LongAdder();
 
         this.processor = new Processor(config);
 
-        readProperties();
+        readProperties(() -> false);
 
         if(config.isAutoReload()){
-            source.observeChange(this::updateProperties, config.getReloadInterval());
+            reloads = new ReloadCoordinator(this::updateProperties, config.getWatchRegistry().getScheduler());
+            source.observeChange(reloads::request, config.getReloadInterval(), config.getWatchRegistry());
         }
     }
 
@@ -74,904 +66,168 @@ public class MdcProvider {
      */
     public void stopAutoReload() {
         source.stopAutoReload();
+        Optional.ofNullable(reloads).ifPresent(ReloadCoordinator::stop);
     }
 
     /**
-     * @return property count.
-     */
-    public int getSize() {
-        return properties.size();
-    }
-
-    /**
-     * Read property value and convert it to {@code String}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return property value or null.
-     * @throws MdcException in case property not found.
-     */
-    public String getString(MdcContext context, String key) throws MdcException {
-        return getValue(context, key, TO_STRING);
-    }
-
-    /**
-     * Read property value and convert it to {@code Optional<String>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Optional} of property value.
-     */
-    public Optional<String> getStringOptional(MdcContext context, String key){
-        return getValueOptional(context, key, TO_STRING);
-    }
-
-
-    /**
-     * Read property value and convert it to {@code Boolean}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return property value or null.
-     * @throws MdcException in case property not found.
-     */
-    public Boolean getBoolean(MdcContext context, String key) throws MdcException {
-        return getValue(context, key, TO_BOOLEAN);
-    }
-
-    /**
-     * Read property value and convert it to {@code Optional<Boolean>}.
+     * Create empty context that stores values of dimensions known to loaded config in slots,
+     * so they are encoded once on {@code put} instead of once per lookup.
+     * Create new context after config reload, old one still works but without precomputed values.
      *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Optional} of property value.
+     * @return new {@link SlottedContext}.
      */
-    public Optional<Boolean>getBooleanOptional(MdcContext context, String key) {
-        return getValueOptional(context, key, TO_BOOLEAN);
+    public SlottedContext createContext() {
+        return new SlottedContext(snapshot.getRegistry());
     }
 
     /**
-     * Read property value and convert it to {@code Float}.
+     * Create view that reads properties for one context. Encoded context values, selector matches
+     * and referenced values are computed once and shared by all reads of the view.
+     * View reads config that was loaded when it was created, even if config is reloaded later.
+     * View is not thread safe, context must not be changed while view is used.
      *
      * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return property value or null.
-     * @throws MdcException in case property not found.
+     * @return new {@link BoundProvider}.
      */
-    public Float getFloat(MdcContext context, String key) throws MdcException {
-        return getValue(context, key, TO_FLOAT);
+    public BoundProvider forContext(MdcContext context) {
+        ReadContext read = read(context);
+        read.rememberSelectorMatches();
+        return new BoundProvider(this, read);
     }
 
     /**
-     * Read property value and convert it to {@code Optional<Float>}.
+     * Pin currently served config for the duration of one request or batch job,
+     * so all reads through returned object see the same config version even if config is reloaded.
+     * Close pinned config when request is finished.
      *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Optional} of property value.
+     * @return new {@link PinnedConfig}.
      */
-    public Optional<Float> getFloatOptional(MdcContext context, String key) {
-        return getValueOptional(context, key, TO_FLOAT);
+    public PinnedConfig pin() {
+        return new PinnedConfig(this, snapshot);
     }
 
     /**
-     * Read property value and convert it to {@code Double}.
+     * Create reusable reader of scalar property, that finds property once per loaded config.
+     * Supported classes are the same as for {@link #getScalar(MdcContext, String, Class)}.
      *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return property value or null.
-     * @throws MdcException in case property not found.
-     */
-    public Double getDouble(MdcContext context, String key) throws MdcException {
-        return getValue(context, key, TO_DOUBLE);
-    }
-
-    /**
-     * Read property value and convert it to {@code Optional<Double>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Optional} of property value.
-     */
-    public Optional<Double> getDoubleOptional(MdcContext context, String key) {
-        return getValueOptional(context, key, TO_DOUBLE);
-    }
-
-    /**
-     * Read property value and convert it to {@code Short}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return property value or null.
-     * @throws MdcException in case property not found.
-     */
-    public Short getShort(MdcContext context, String key) throws MdcException {
-        return getValue(context, key, TO_SHORT);
-    }
-
-    /**
-     * Read property value and convert it to {@code Optional<Short>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Optional} of property value.
-     */
-    public Optional<Short> getShortOptional(MdcContext context, String key) {
-        return getValueOptional(context, key, TO_SHORT);
-    }
-
-    /**
-     * Read property value and convert it to {@code Integer}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return property value or null.
-     * @throws MdcException in case property not found.
-     */
-    public Integer getInteger(MdcContext context, String key) throws MdcException {
-        return getValue(context, key, TO_INTEGER);
-    }
-
-    /**
-     * Read property value and convert it to {@code Optional<Integer>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Optional} of property value.
-     */
-    public Optional<Integer> getIntegerOptional(MdcContext context, String key) {
-        return getValueOptional(context, key, TO_INTEGER);
-    }
-
-    /**
-     * Read property value and convert it to {@code Long}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return property value or null.
-     * @throws MdcException in case property not found.
-     */
-    public Long getLong(MdcContext context, String key) throws MdcException {
-        return getValue(context, key, TO_LONG);
-    }
-
-    /**
-     * Read property value and convert it to {@code Optional<Long>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Optional} of property value.
-     */
-    public Optional<Long> getLongOptional(MdcContext context, String key) {
-        return getValueOptional(context, key, TO_LONG);
-    }
-
-    /**
-     * Read property value and convert it to {@code List<String>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code List} of property values or null.
-     * @throws MdcException in case property not found.
-     */
-    public List<String> getStringList(MdcContext context, String key) throws MdcException {
-        return getValueList(context, key, TO_STRING);
-    }
-
-    /**
-     * Read property value and convert it to {@code Optional<List<String>>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Optional<List>} of property values or null.
-     */
-    public Optional<List<String>> getStringListOptional(MdcContext context, String key) {
-        return getValueListOptional(context, key, TO_STRING);
-    }
-
-    /**
-     * Read property value and convert it to {@code List<Boolean>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code List} of property values or null.
-     * @throws MdcException in case property not found.
-     */
-    public List<Boolean> getBooleanList(MdcContext context, String key) throws MdcException {
-        return getValueList(context, key, TO_BOOLEAN);
-    }
-
-    /**
-     * Read property value and convert it to {@code Optional<List<Boolean>>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Optional<List>} of property values or null.
-     */
-    public Optional<List<Boolean>> getBooleanListOptional(MdcContext context, String key) {
-        return getValueListOptional(context, key, TO_BOOLEAN);
-    }
-
-    /**
-     * Read property value and convert it to {@code List<Float>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code List} of property values or null.
-     * @throws MdcException in case property not found.
-     */
-    public List<Float> getFloatList(MdcContext context, String key) throws MdcException {
-        return getValueList(context, key, TO_FLOAT);
-    }
-
-    /**
-     * Read property value and convert it to {@code Optional<List<Float>>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Optional<List>} of property values or null.
-     */
-    public Optional<List<Float>> getFloatListOptional(MdcContext context, String key) {
-        return getValueListOptional(context, key, TO_FLOAT);
-    }
-
-    /**
-     * Read property value and convert it to {@code List<Double>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code List} of property values or null.
-     * @throws MdcException in case property not found.
-     */
-    public List<Double> getDoubleList(MdcContext context, String key) throws MdcException {
-        return getValueList(context, key, TO_DOUBLE);
-    }
-
-    /**
-     * Read property value and convert it to {@code Optional<List<Double>>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Optional<List>} of property values or null.
-     */
-    public Optional<List<Double>> getDoubleListOptional(MdcContext context, String key) {
-        return getValueListOptional(context, key, TO_DOUBLE);
-    }
-
-    /**
-     * Read property value and convert it to {@code List<Short>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code List} of property values or null.
-     * @throws MdcException in case property not found.
-     */
-    public List<Short> getShortList(MdcContext context, String key) throws MdcException {
-        return getValueList(context, key, TO_SHORT);
-    }
-
-    /**
-     * Read property value and convert it to {@code Optional<List<Short>>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Optional<List>} of property values or null.
-     */
-    public Optional<List<Short>> getShortListOptional(MdcContext context, String key) {
-        return getValueListOptional(context, key, TO_SHORT);
-    }
-
-    /**
-     * Read property value and convert it to {@code List<Integer>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code List} of property values or null.
-     * @throws MdcException in case property not found.
-     */
-    public List<Integer> getIntegerList(MdcContext context, String key) throws MdcException {
-        return getValueList(context, key, TO_INTEGER);
-    }
-
-    /**
-     * Read property value and convert it to {@code Optional<List<Integer>>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Optional<List>} of property values or null.
-     */
-    public Optional<List<Integer>> getIntegerListOptional(MdcContext context, String key) {
-        return getValueListOptional(context, key, TO_INTEGER);
-    }
-
-    /**
-     * Read property value and convert it to {@code List<Long>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code List} of property values or null.
-     * @throws MdcException in case property not found.
-     */
-    public List<Long> getLongList(MdcContext context, String key) throws MdcException {
-        return getValueList(context, key, TO_LONG);
-    }
-
-    /**
-     * Read property value and convert it to {@code Optional<List<Long>>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Optional<List>} of property values or null.
-     */
-    public Optional<List<Long>> getLongListOptional(MdcContext context, String key) {
-        return getValueListOptional(context, key, TO_LONG);
-    }
-
-    /**
-     * Read property value and convert it to {@code Map<String,String>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Map} of property values or null.
-     * @throws MdcException in case property not found.
-     */
-    public Map<String, String> getStringMap(MdcContext context, String key) throws MdcException {
-        return getMap(context, key, TO_STRING, TO_STRING);
-    }
-
-    /**
-     * Read property value and convert it to {@code Map<String,Double>}.
-     *
-     * @param context reading context {@link MdcContext}.
      * @param key property name.
-     * @return {@code Map} of property values or null.
-     * @throws MdcException in case property not found.
-     */
-    public Map<String, Double> getDoubleMap(MdcContext context, String key) throws MdcException {
-        return getMap(context, key, TO_STRING, TO_DOUBLE);
-    }
-
-    /**
-     * Read property value and convert it to {@code Map<String,Integer>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Map} of property values or null.
-     * @throws MdcException in case property not found.
-     */
-    public Map<String, Integer> getIntegerMap(MdcContext context, String key) throws MdcException {
-        return getMap(context, key, TO_STRING, TO_INTEGER);
-    }
-
-    /**
-     * Read property value and convert it to {@code Map<String,Boolean>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Map} of property values or null.
-     * @throws MdcException in case property not found.
-     */
-    public Map<String, Boolean> getBooleanMap(MdcContext context, String key) throws MdcException {
-        return getMap(context, key, TO_STRING, TO_BOOLEAN);
-    }
-
-    /**
-     * Read property value and convert it to {@code Map<String,Float>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Map} of property values or null.
-     * @throws MdcException in case property not found.
-     */
-    public Map<String, Float> getFloatMap(MdcContext context, String key) throws MdcException {
-        return getMap(context, key, TO_STRING, TO_FLOAT);
-    }
-
-    /**
-     * Read property value and convert it to {@code Map<String,Long>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Map} of property values or null.
-     * @throws MdcException in case property not found.
+     * @param type Class in which value suppose to be converted.
+     * @return new {@link PropertyHandle}, property may be absent until it appears after reload.
+     * @param <T> type in which value suppose to be converted
+     * @throws MdcException in case provided class is not supported.
      */
-    public Map<String, Long> getLongMap(MdcContext context, String key) throws MdcException {
-        return getMap(context, key, TO_STRING, TO_LONG);
+    public <T> PropertyHandle<T> handle(String key, Class<T> type) throws MdcException {
+        return new PropertyHandle<>(this, key, processKey(key), scalarConverter(type));
     }
 
     /**
-     * Read property value and convert it to {@code Map<String,Short>}.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Map} of property values or null.
-     * @throws MdcException in case property not found.
+     * @return number of values read from result cache, see {@link org.mdcfg.builder.MdcBuilder.MdcConfigBuilder#resultCache(int)}.
      */
-    public Map<String, Short> getShortMap(MdcContext context, String key) throws MdcException {
-        return getMap(context, key, TO_STRING, TO_SHORT);
+    public long getCacheHits() {
+        return cacheHits.sum();
     }
 
     /**
-     * Read property value and convert it to provided type.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param converter {@code Function} that takes String and converts it to specified type.
-     * @return property value or null.
-     * @param <T> type in which value suppose to be converted
-     * @throws MdcException  in case property not found.
+     * @return number of values resolved because they were absent in result cache.
      */
-    public <T> T getValue(MdcContext context, String key, Function<String, T> converter) throws MdcException {
-        Property property = getProperty(key, context);
-        return Optional.ofNullable(getStringValue(property, context))
-                .map(converter)
-                .orElse(null);
+    public long getCacheMisses() {
+        return cacheMisses.sum();
     }
 
     /**
-     * Read property value and convert it to {@code Optional} of provided type.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param converter {@code Function} that takes String and converts it to specified type.
-     * @return {@code Optional} of property value.
-     * @param <T> type in which value suppose to be converted
+     * @return property count.
      */
-    public <T> Optional<T> getValueOptional(MdcContext context, String key, Function<String, T> converter) {
-        try {
-            return Optional.ofNullable(getValue(context, key, converter));
-        } catch (MdcException e) {
-            return Optional.empty();
-        }
+    public int getSize() {
+        return snapshot.getProperties().size();
     }
 
     /**
-     * Read property value and convert it to {@code Optional} of provided scalar class.
-     * Supported classes:
-     * <ul>
-     *   <li>String</li>
-     *   <li>Boolean, boolean</li>
-     *   <li>Integer, int</li>
-     *   <li>Long, long</li>
-     *   <li>Short, short</li>
-     *   <li>Double, double</li>
-     *   <li>Float, float</li>
-     * </ul>
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param clas Class in which result suppose to be converted.
-     * @return property value or null.
-     * @param <T> type in which value suppose to be converted
-     * @throws MdcException in case property not found or provided class is not primitive.
+     * @return version of currently served config, starts from 1 and is incremented by each successful reload.
      */
-    public <T> T getScalar(MdcContext context, String key, Class<T> clas) throws MdcException {
-        Property property = getProperty(key, context);
-        String stringValue = getStringValue(property, context);
-        return StringUtils.isNotBlank(stringValue)
-                ? convertScalar(clas, stringValue)
-                : null;
+    public long getVersion() {
+        return snapshot.getVersion();
     }
 
-    /**
-     * Read property value and convert it to provided scalar type.
-     * Supported classes:
-     * <ul>
-     *   <li>String</li>
-     *   <li>Boolean, boolean</li>
-     *   <li>Integer, int</li>
-     *   <li>Long, long</li>
-     *   <li>Short, short</li>
-     *   <li>Double, double</li>
-     *   <li>Float, float</li>
-     * </ul>
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param clas Class in which result suppose to be converted.
-     * @return {@code Optional} of property value.
-     * @param <T> type in which value suppose to be converted
-     */
-    public <T> Optional<T> getScalarOptional(MdcContext context, String key, Class<T> clas) {
-        try {
-            return Optional.ofNullable(getScalar(context, key, clas));
-        } catch (MdcException e) {
-            return Optional.empty();
-        }
+    /** Encode context against currently served config. */
+    @Override
+    ReadContext read(MdcContext context) {
+        return read(context, snapshot);
     }
 
-    /**
-     * Iterate through list based dimension with provided name, read property value for each and convert it to provided type.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param splitBy name of List based dimension represented in context
-     * @param converter {@code Function} that takes String and converts it to specified type.
-     * @return List of iterated property values or empty list.
-     * @param <T> type in which value suppose to be converted
-     * @throws MdcException  in case property not found.
-     */
-    public <T> List<T> getSplitValue(MdcContext context, String key, String splitBy, Function<String, T> converter) throws MdcException {
-        Property property = getProperty(key, context);
-        return getSplitStringValue(property, context, splitBy).stream()
-                .map(converter)
-                .collect(Collectors.toList());
+    /** Encode context against provided config snapshot. */
+    ReadContext read(MdcContext context, ConfigSnapshot snapshot) {
+        return new ReadContext(context, snapshot.getProperties(), snapshot.getRegistry(), snapshot.getCache());
     }
 
-    /**
-     * Read property value and convert it to {@code List} of provided type.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param converter {@code Function} that takes String and converts it to specified type.
-     * @return {@code List} of property values or null.
-     * @param <T> type in which each value in list suppose to be converted
-     * @throws MdcException in case property not found.
-     */
-    public <T> List<T> getValueList(MdcContext context, String key, Function<String, T> converter) throws MdcException {
-        Property property = getProperty(key, context);
-        return Optional.ofNullable(getStringValue(property, context))
-                .map(s -> LIST_SIGN_PATTERN.matcher(s).replaceAll(""))
-                .map(s -> stringToList(converter, s))
-                .orElse(null);
+    ConfigSnapshot getSnapshot() {
+        return snapshot;
     }
 
-    /**
-     * Read property value and convert it to {@code Optional<List>} of provided type.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param converter {@code Function} that takes String and converts it to specified type.
-     * @return {@code Optional<List>} of property value.
-     * @param <T> type in which each value in list suppose to be converted
-     */
-    public <T> Optional<List<T>> getValueListOptional(MdcContext context, String key, Function<String, T> converter) {
+    private void updateProperties(BooleanSupplier superseded) {
         try {
-            return Optional.ofNullable(getValueList(context, key, converter));
+            if (readProperties(superseded)) {
+                Optional.ofNullable(callback).ifPresent(c->c.success(snapshot.getProperties().size()));
+            }
         } catch (MdcException e) {
-            return Optional.empty();
-        }
-    }
-
-    /**
-     * Read property value and convert it to {@code List} of provided type.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param converter {@code Function} that takes String and converts it to specified type.
-     * @return {@code List} of property values or null.
-     * @param <T> type in which each value in list suppose to be converted
-     * @throws MdcException in case property not found.
-     */
-    public <T> List<List<T>> getSplitValueList(MdcContext context, String key, String splitBy, Function<String, T> converter) throws MdcException {
-        Property property = getProperty(key, context);
-        return Optional.ofNullable(getSplitStringValue(property, context, splitBy))
-                .map(l -> l.stream()
-                        .map(s -> LIST_SIGN_PATTERN.matcher(s).replaceAll(""))
-                        .map(s -> stringToList(converter, s))
-                        .collect(Collectors.toList()))
-                .orElse(null);
-    }
-
-    /**
-     * Read property value and convert it to {@code Map} of provided type.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param keyConverter {@code Function} that converts key to specified type.
-     * @param valueConverter {@code Function} that converts value to specified type.
-     * @param <K> type in which each key in map suppose to be converted.
-     * @param <V> type in which each value in map suppose to be converted.
-     * @return {@code Map} of property values or null.
-     * @throws MdcException in case property not found.
-     */
-    public <K, V> Map<K, V> getMap(MdcContext context, String key, Function<String, K> keyConverter, Function<String, V> valueConverter) throws MdcException {
-        Property property = getProperty(key, context);
-        String mapString = getStringValue(property, context);
-
-        if(mapString == null){
-            return null; //NOSONAR
-        }
-        if(StringUtils.isNotEmpty(mapString)) {
-            return Arrays.stream(mapString.split("\n"))
-                    .filter(StringUtils::isNotBlank)
-                    .map(v -> v.split(":"))
-                    .filter(v -> v.length == 2)
-                    .collect(Collectors.toMap(v -> keyConverter.apply(v[0].trim()),
-                            v -> valueConverter.apply(v[1].trim())));
-        }
-        return Collections.emptyMap();
-    }
-
-    /**
-     * Read compound property and return result as Tree (based on maps).
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @return {@code Map} of property values.
-     * @throws MdcException in case property not found.
-     */
-    public Map<String, Object> getCompoundMap(MdcContext context, String key) throws MdcException {
-        Map<String, Object> result = new LinkedHashMap<>();
-        List<Property> propertyList = listCompoundProperty(context, key);
-        for (Property property : propertyList) {
-            String subKey = property.getName().substring(key.length());
-            String[] path = SUB_PROPERTY_SEPARATOR.split(subKey);
-            String value = getStringValue(property, context);
-            if (value != null) {
-                Map<String, Object> leaf = getOrCreateLeaf(result, path);
-                leaf.put(path[path.length - 1], value);
+            // last good snapshot is still served, failure of superseded reload is not reported
+            if (!superseded.getAsBoolean()) {
+                Optional.ofNullable(callback).ifPresent(c->c.fail(e));
             }
         }
-        return result;
-    }
-
-    /**
-     * Read compound property and return result as JSON.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param prettify prettify response.
-     * @return JSON string of property values.
-     * @throws MdcException in case property not found.
-     */
-    public String getCompoundJSON(MdcContext context, String key, boolean prettify) throws MdcException {
-        try {
-            Map<String, Object> map = getCompoundMap(context, key);
-            return prettify
-                    ? OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(map)
-                    : OBJECT_MAPPER.writeValueAsString(map);
-        } catch (JsonProcessingException e) {
-            throw new MdcException("Couldn't deserialize object", e);
-        }
     }
 
     /**
-     * Read compound property and return result as POJO object.
+     * Read, process and publish config, stopping between stages if reload is superseded.
      *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param clas Class in which result suppose to be converted.
-     * @param <T> type in which result suppose to be converted.
-     * @return {@code Map} of property values.
-     * @throws MdcException in case property not found.
-     */
-    public <T> T getCompoundObject(MdcContext context, String key, Class<T> clas) throws MdcException {
-        Map<String, Object> map = getCompoundMap(context, key);
-        return OBJECT_MAPPER.convertValue(map, clas);
-    }
-
-    /**
-     * Read compound property and return result as POJO object.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param toValueType type in which result suppose to be converted.
-     * @param <T> type in which result suppose to be converted.
-     * @return {@code Map} of property values.
-     * @throws MdcException in case property not found.
-     */
-    public <T> T getCompoundObject(MdcContext context, String key, JavaType toValueType) throws MdcException {
-        Map<String, Object> map = getCompoundMap(context, key);
-        return OBJECT_MAPPER.convertValue(map, toValueType);
-    }
-
-    /**
-     * Read compound property and return result as POJO object.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param toValueTypeRef type reference in which result suppose to be converted.
-     * @param <T> type in which result suppose to be converted.
-     * @return {@code Map} of property values.
-     * @throws MdcException in case property not found.
-     */
-    public <T> T getCompoundObject(MdcContext context, String key, TypeReference<T> toValueTypeRef) throws MdcException {
-        Map<String, Object> map = getCompoundMap(context, key);
-        return OBJECT_MAPPER.convertValue(map, toValueTypeRef);
-    }
-
-    /**
-     * Read List that contains references to compound properties and return result as List of objects.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param classResolver Function that takes key and returns class in which result suppose to be converted.
-     * @param <T> type in which result suppose to be converted.
-     * @return {@code List} of property values.
-     * @throws MdcException in case property not found or property doesn't contain references.
-     */
-    public <T> List<T> getCompoundObjectListByClass(MdcContext context, String key, Function<String, Class<? extends T>> classResolver) throws MdcException {
-        return getCompoundObjectList(context, key, (ctx, k) -> getCompoundObject(context, k, classResolver.apply(k)));
-    }
-
-    /**
-     * Read List that contains references to compound properties and return result as List of objects.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param typeResolver Function that takes key and returns type in which result suppose to be converted.
-     * @param <T> type in which result suppose to be converted.
-     * @return {@code List} of property values.
-     * @throws MdcException in case property not found or property doesn't contain references.
-     */
-    public <T> List<T> getCompoundObjectListByType(MdcContext context, String key, Function<String, JavaType> typeResolver) throws MdcException {
-        return getCompoundObjectList(context, key, (ctx, k) -> getCompoundObject(context, k, typeResolver.apply(k)));
-    }
-
-    /**
-     * Read List that contains references to compound properties and return result as List of objects.
-     *
-     * @param context reading context {@link MdcContext}.
-     * @param key property name.
-     * @param typeRefResolver Function that takes key and returns type reference in which result suppose to be converted.
-     * @param <T> type in which result suppose to be converted.
-     * @return {@code List} of property values.
-     * @throws MdcException in case property not found or property doesn't contain references.
+     * @param superseded returns true if newer change is requested.
+     * @return true if new snapshot is published.
      */
-    public <T> List<T> getCompoundObjectListByTypeReference(MdcContext context, String key, Function<String, TypeReference<? extends T>> typeRefResolver) throws MdcException {
-        return getCompoundObjectList(context, key, (ctx, k) -> getCompoundObject(context, k, typeRefResolver.apply(k)));
-    }
-
-    private <T> List<T> getCompoundObjectList(MdcContext context, String key, BiFunction<MdcContext, String, ? extends T> itemReader) throws MdcException {
-        Property property = getProperty(key, context);
-        String listString = Optional.ofNullable(property.getString(context, config.isSelectorSensitive()))
-                .map(s -> LIST_SIGN_PATTERN.matcher(s).replaceAll(""))
-                .orElse(null);
-
-        if(listString == null){
-            return null; //NOSONAR
+    private boolean readProperties(BooleanSupplier superseded) throws MdcException {
+        Map<String, Object> nativeValues = new IdentityHashMap<>();
+        Map<String, Map<String, String>> data = config.isNativeValues()
+                ? source.readValues(processor::getIncludes, config, nativeValues)
+                : source.read(processor::getIncludes, config);
+        if (superseded.getAsBoolean()) {
+            return false;
         }
-        if(!property.isHasReference()) {
-            throw new MdcException(String.format("Value for key %s doesn't contain property references", key));
-        }
-
-        List<T> result = new ArrayList<>();
-        if(StringUtils.isNotEmpty(listString)) {
-            for (String k: COMMA_PATTERN.split(listString)) {
-                String item = StringUtils.trim(k);
-                Matcher m = REFERENCE_PATTERN.matcher(item);
-                while (m.find()) {
-                    Pair<String, String> ref = getRef(m.group(1));
-                    if(ref != null && ref.getLeft().equals(REF_TYPE_MDC)) {
-                        result.add(itemReader.apply(context, ref.getRight()));
-                    }
-                }
-            }
-        }
-        return result;
-    }
-
-    private String processKey(String key) {
-        return config.isKeySensitive() ? key : key.toLowerCase(Locale.ROOT);
-    }
-
-    private Property getProperty(String key, MdcContext context) throws MdcException {
-        Property property = Optional.ofNullable(properties.get(processKey(key)))
-                .orElseThrow(() -> new MdcException(String.format("Property %s not found.", key)));
-
-        if(!property.isEnabled(context, config.isSelectorSensitive())){
-            throw new MdcException(String.format("Property %s is disabled.", key));
-        }
-        return property;
-    }
-
-    private String getStringValue(Property property, MdcContext context) throws MdcException {
-        String value = property.getString(context, config.isSelectorSensitive());
-        if(property.isHasReference()) {
-            return processRefs(context, value);
-        }
-        return value;
-    }
-
-    private List<String> getSplitStringValue(Property property, MdcContext context, String splitBy) throws MdcException {
-        List<String> values = property.getSplitString(context, splitBy, config.isSelectorSensitive());
-        if(property.isHasReference()) {
-            for (int i = 0; i < values.size(); i++) {
-                values.set(i, processRefs(context, values.get(i)));
-            }
-        }
-        return values;
-    }
-
-    private String processRefs(MdcContext context, String value) throws MdcException {
-        StringBuilder sb = new StringBuilder();
-        Matcher m = REFERENCE_PATTERN.matcher(value);
-        while (m.find()) {
-            String refValue = getRefValue(context, m.group(1));
-            if(refValue != null) {
-                m.appendReplacement(sb, refValue);
-            }
+        ConfigSnapshot current = snapshot;
+        ProcessedConfig processed = processor.process(data, nativeValues, current != null ? current.getProcessed() : null);
+        if (superseded.getAsBoolean()) {
+            return false;
         }
-        m.appendTail(sb);
-        return sb.toString();
-    }
-
-    private Pair<String, String> getRef(String refKeyGroup){
-        int refKeyIndex = refKeyGroup.indexOf(REF_KEY_SEPARATOR);
-        if(refKeyIndex > 1) {
-            String refType = refKeyGroup.substring(0, refKeyIndex);
-            String refKey = refKeyGroup.substring(refKeyIndex + 1);
-            return Pair.of(refType, refKey);
-        }
-        return null;
-    }
-
-    private String getRefValue(MdcContext context, String refKeyGroup) throws MdcException {
-        Pair<String, String> ref = getRef(refKeyGroup);
-        if(ref != null) {
-            switch (ref.getLeft()){
-                case REF_TYPE_MDC:
-                    return getString(context, ref.getRight());
-                case REF_TYPE_CTX:
-                    return getCtxStringValue(context, ref.getRight());
-                default:
-                    return null;
-            }
-        }
-        return null;
-    }
-
-    private String getCtxStringValue( MdcContext context, String key) {
-        if(context.containsKey(key)) {
-            return String.valueOf(context.get(key));
-        }
-        return null;
+        ResultCache cache = config.getResultCacheSize() > 0
+                ? new ResultCache(config.getResultCacheSize(), getContextKeys(processed.getProperties()),
+                        current != null ? current.getCache() : null, cacheHits, cacheMisses)
+                : null;
+        snapshot = new ConfigSnapshot(current != null ? current.getVersion() + 1 : 1, processed, cache);
+        return true;
     }
 
-    private  List<Property> listCompoundProperty(MdcContext context, String key) throws MdcException {
-        final String keyPart = processKey(key);
-        Pattern pattern = Pattern.compile(String.format(ROOT_PROPERTY, Pattern.quote(keyPart)));
-        // Could impact performance
-        List<Property> result = properties.entrySet().stream()
-                .filter(e -> pattern.matcher(e.getKey()).find())
-                .map(Map.Entry::getValue)
-                .filter(p->p.isEnabled(context, config.isSelectorSensitive()))
-                .collect(Collectors.toList());
-        if(result.isEmpty()){
-            throw new MdcException(String.format("Property %s not found.", key));
+    /** Find context keys that value of each property depends on following references. */
+    private Map<Property, String[]> getContextKeys(Map<String, Property> properties) {
+        Map<Property, String[]> result = new IdentityHashMap<>();
+        for (Property property : properties.values()) {
+            Set<String> keys = new TreeSet<>();
+            collectContextKeys(property, properties, keys, Collections.newSetFromMap(new IdentityHashMap<>()));
+            result.put(property, keys.toArray(new String[0]));
         }
         return result;
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> getOrCreateLeaf(Map<String, Object> root, String[] path) {
-        Map<String, Object> leaf = root;
-        if(path.length > 2) {
-            for (int i = 1; i < path.length-1; i++) {
-                if(!leaf.containsKey(path[i])){
-                    leaf.put(path[i], new LinkedHashMap<>());
-                }
-                leaf = (Map<String, Object>) leaf.get(path[i]);
-            }
-        }
-        return leaf;
-    }
-
-
-    private void updateProperties() {
-        try {
-            readProperties();
-            Optional.ofNullable(callback).ifPresent(c->c.success(properties.size()));
-        } catch (MdcException e) {
-            Optional.ofNullable(properties).ifPresent(Map::clear);
-            Optional.ofNullable(callback).ifPresent(c->c.fail(e));
+    private void collectContextKeys(Property property, Map<String, Property> properties,
+                                    Set<String> keys, Set<Property> visited) {
+        if (property == null || !visited.add(property)) {
+            return;
         }
-    }
-
-    private void readProperties() throws MdcException {
-        Map<String, Map<String, String>> data = source.read(processor::getIncludes,
-                config);
-        properties = processor.process(data);
-    }
-
-    private static <T> List<T> stringToList(Function<String, T> converter, String listString) {
-        if(StringUtils.isNotEmpty(listString)) {
-            return Arrays.stream(COMMA_PATTERN.split(listString))
-                    .map(StringUtils::trim)
-                    .map(converter)
-                    .collect(Collectors.toList());
+        keys.addAll(property.getDimensions());
+        Optional.ofNullable(property.getEnabled()).ifPresent(e -> keys.addAll(e.getDimensions()));
+        for (String reference : property.getReferences()) {
+            Pair<String, String> ref = getRef(reference);
+            if (ref != null && ref.getLeft().equals(REF_TYPE_MDC)) {
+                collectContextKeys(properties.get(processKey(ref.getRight())), properties, keys, visited);
+            } else if (ref != null && ref.getLeft().equals(REF_TYPE_CTX)) {
+                keys.add(ref.getRight());
+            }
         }
-        return Collections.emptyList();
     }
-
 }
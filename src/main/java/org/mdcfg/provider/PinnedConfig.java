@@ -0,0 +1,61 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.provider;
+
+/**
+ * Config pinned by {@link MdcProvider#pin()} for the duration of one request or batch job.
+ * <p> All reads go to the config version that was served when pin was opened, even if config is reloaded
+ * in the meantime, so values read in one request are consistent with each other.
+ * Pinned config has the same getters as {@link MdcProvider}.
+ * Pinned config is supposed to be used by one thread and must not be used after it is closed.
+ */
+public class PinnedConfig extends ConfigReader implements AutoCloseable {
+    private final MdcProvider provider;
+    private ConfigSnapshot snapshot;
+
+    PinnedConfig(MdcProvider provider, ConfigSnapshot snapshot) {
+        super(provider.isKeySensitive());
+        this.provider = provider;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * @return version of pinned config, see {@link MdcProvider#getVersion()}.
+     */
+    public long getVersion() {
+        return pinned().getVersion();
+    }
+
+    /**
+     * Create view of pinned config bound to one context, see {@link MdcProvider#forContext(MdcContext)}.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @return new {@link BoundProvider}.
+     */
+    public BoundProvider forContext(MdcContext context) {
+        ReadContext read = read(context);
+        read.rememberSelectorMatches();
+        return new BoundProvider(this, read);
+    }
+
+    /**
+     * Release pinned config, so it can be collected after reload.
+     */
+    @Override
+    public void close() {
+        snapshot = null;
+    }
+
+    @Override
+    ReadContext read(MdcContext context) {
+        return provider.read(context, pinned());
+    }
+
+    private ConfigSnapshot pinned() {
+        if (snapshot == null) {
+            throw new IllegalStateException("Pinned config is closed.");
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.provider;
+
+import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.exceptions.MdcLookupException;
+import org.mdcfg.model.Property;
+
+import java.util.function.Function;
+
+/**
+ * Reusable reader of one scalar property, created by {@link MdcProvider#handle(String, Class)}.
+ * <p> Property is found by key once per loaded config instead of once per call, handle is bound
+ * to new property automatically after config reload. Handle is thread safe and can be kept in static field.
+ *
+ * @param <T> type of property value.
+ */
+public class PropertyHandle<T> {
+    private final MdcProvider provider;
+    private final String key;
+    private final String processedKey;
+    private final Function<String, T> converter;
+    private volatile Binding binding;
+
+    PropertyHandle(MdcProvider provider, String key, String processedKey, Function<String, T> converter) {
+        this.provider = provider;
+        this.key = key;
+        this.processedKey = processedKey;
+        this.converter = converter;
+    }
+
+    /**
+     * Read property value.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @return property value or null.
+     * @throws MdcException in case property not found or disabled.
+     */
+    public T get(MdcContext context) throws MdcException {
+        Binding current = bind();
+        if (current.property == null) {
+            throw new MdcLookupException(String.format("Property %s not found.", key));
+        }
+        ReadContext read = provider.read(context, current.snapshot);
+        if (!current.property.isEnabled(read)) {
+            throw new MdcLookupException(String.format("Property %s is disabled.", key));
+        }
+        return provider.getTypedValue(current.property, read, converter);
+    }
+
+    /**
+     * Read property value without throwing exception.
+     *
+     * @param context reading context {@link MdcContext}.
+     * @param defaultValue value returned if property is not found, disabled, null or can't be resolved.
+     * @return property value or default value.
+     */
+    public T getOrDefault(MdcContext context, T defaultValue) {
+        Binding current = bind();
+        if (current.property == null) {
+            return defaultValue;
+        }
+        ReadContext read = provider.read(context, current.snapshot);
+        if (!current.property.isEnabled(read)) {
+            return defaultValue;
+        }
+        try {
+            T value = provider.getTypedValue(current.property, read, converter);
+            return value != null ? value : defaultValue;
+        } catch (MdcException e) {
+            return defaultValue;
+        }
+    }
+
+    /** @return property name handle was created for. */
+    public String getKey() {
+        return key;
+    }
+
+    /** Return binding to currently loaded config, bind property again if config was reloaded. */
+    private Binding bind() {
+        ConfigSnapshot snapshot = provider.getSnapshot();
+        Binding current = binding;
+        if (current == null || current.snapshot != snapshot) {
+            current = new Binding(snapshot, snapshot.getProperties().get(processedKey));
+            binding = current;
+        }
+        return current;
+    }
+
+    /** Loaded config with property found in it, null if property doesn't exist. */
+    private static class Binding {
+        private final ConfigSnapshot snapshot;
+        private final Property property;
+
+        Binding(ConfigSnapshot snapshot, Property property) {
+            this.snapshot = snapshot;
+            this.property = property;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.provider;
+
+import lombok.Getter;
+import org.mdcfg.model.DimensionRegistry;
+import org.mdcfg.model.EncodedContext;
+import org.mdcfg.model.Property;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Encoded context of one provider call. Keeps properties it was created for,
+ * so references are resolved against the same loaded config.
+ * <p> Values of referenced properties are remembered, so property referenced several times
+ * during one call is resolved once.
+ */
+class ReadContext extends EncodedContext {
+    @Getter private final Map<String, Property> properties;
+    /** cache of resolved values or null if cache is disabled */
+    @Getter private final ResultCache cache;
+    /** resolved values of referenced properties, created on first reference */
+    private Map<Property, String> resolved;
+
+    ReadContext(MdcContext context, Map<String, Property> properties, DimensionRegistry registry, ResultCache cache) {
+        super(context, registry);
+        this.properties = properties;
+        this.cache = cache;
+    }
+
+    /** Return remembered value of referenced property or null if it wasn't resolved or its value is null. */
+    String getResolved(Property property) {
+        return resolved != null ? resolved.get(property) : null;
+    }
+
+    boolean isResolved(Property property) {
+        return resolved != null && resolved.containsKey(property);
+    }
+
+    void putResolved(Property property, String value) {
+        if (resolved == null) {
+            resolved = new IdentityHashMap<>();
+        }
+        resolved.put(property, value);
+    }
+}
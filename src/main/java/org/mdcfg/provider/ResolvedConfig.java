@@ -0,0 +1,188 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.provider;
+
+import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.model.Chain;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static org.mdcfg.provider.MdcConverter.*;
+
+/**
+ * Immutable values of many properties resolved for one context, created by
+ * {@link MdcProvider#getAll(MdcContext, Collection)} and {@link MdcProvider#getAllUnder(MdcContext, String)}.
+ * <p> Values are kept in arrays sorted by key. Properties that are not found, disabled for context
+ * or can't be resolved are absent. Keys are property names normalized like provider does, so they are
+ * lower-cased unless keys are case-sensitive, keys passed to getters are normalized the same way.
+ * Values of chains without references are converted once per chain by predefined converters,
+ * converters provided by caller are called on each read.
+ */
+public class ResolvedConfig {
+    private final String[] keys;
+    private final String[] values;
+    /** chains of values that don't depend on context, null for values resolved from references */
+    private final Chain[] chains;
+    /** normalizes keys passed to getters */
+    private final UnaryOperator<String> keyProcessor;
+
+    ResolvedConfig(String[] keys, String[] values, Chain[] chains, UnaryOperator<String> keyProcessor) {
+        this.keys = keys;
+        this.values = values;
+        this.chains = chains;
+        this.keyProcessor = keyProcessor;
+    }
+
+    /** @return number of resolved properties. */
+    public int size() {
+        return keys.length;
+    }
+
+    /** @return sorted keys of resolved properties. */
+    public List<String> getKeys() {
+        return List.of(keys);
+    }
+
+    /** Check whether property was resolved, its value may be null. */
+    public boolean contains(String key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * @param key property name.
+     * @return property value or null if property is absent.
+     */
+    public String getString(String key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * @param key property name.
+     * @param defaultValue value returned if property is absent or null.
+     * @return property value or default value.
+     */
+    public String getString(String key, String defaultValue) {
+        String value = getString(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Convert property value to provided type.
+     *
+     * @param key property name.
+     * @param converter {@code Function} that takes String and converts it to specified type.
+     * @return converted value or null if property is absent or null.
+     * @param <T> type in which value suppose to be converted
+     */
+    public <T> T getValue(String key, Function<String, T> converter) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        if (chains[index] != null && isSharedConverter(converter)) {
+            return chains[index].convert(converter, nativeConverter(converter));
+        }
+        return values[index] != null ? converter.apply(values[index]) : null;
+    }
+
+    /**
+     * Convert property value to provided scalar type, see {@link MdcProvider#getScalar(MdcContext, String, Class)}.
+     *
+     * @throws MdcException in case provided class is not supported.
+     */
+    public <T> T getScalar(String key, Class<T> clas) throws MdcException {
+        return getValue(key, scalarConverter(clas));
+    }
+
+    /**
+     * Read property value as {@code int}, unlike {@link #getValue(String, Function)} with
+     * {@link MdcConverter#TO_INTEGER} value that is not a number returns default value.
+     *
+     * @param key property name.
+     * @param defaultValue value returned if property is absent, null or not a number.
+     * @return property value or default value.
+     */
+    public int getInt(String key, int defaultValue) {
+        Integer value = getNumber(key, TO_INTEGER);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Read property value as {@code long}, value that is not a number returns default value.
+     *
+     * @param key property name.
+     * @param defaultValue value returned if property is absent, null or not a number.
+     * @return property value or default value.
+     */
+    public long getLong(String key, long defaultValue) {
+        Long value = getNumber(key, TO_LONG);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Read property value as {@code double}, value that is not a number returns default value.
+     *
+     * @param key property name.
+     * @param defaultValue value returned if property is absent, null or not a number.
+     * @return property value or default value.
+     */
+    public double getDouble(String key, double defaultValue) {
+        Double value = getNumber(key, TO_DOUBLE);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Read property value as {@code boolean}.
+     *
+     * @param key property name.
+     * @param defaultValue value returned if property is absent or null.
+     * @return property value or default value.
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Boolean value = getValue(key, TO_BOOLEAN);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Convert property value to {@code List} of provided type.
+     *
+     * @return unmodifiable list or null if property is absent or null.
+     */
+    public <T> List<T> getValueList(String key, Function<String, T> converter) {
+        return getValue(key, ConfigReader.listParser(converter));
+    }
+
+    /**
+     * Read property value as {@code List} of strings.
+     *
+     * @return unmodifiable list or null if property is absent or null.
+     */
+    public List<String> getStringList(String key) {
+        return getValueList(key, TO_STRING);
+    }
+
+    private <T> T getNumber(String key, Function<String, T> converter) {
+        try {
+            return getValue(key, converter);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** @return unmodifiable map of property values sorted by key. */
+    public Map<String, String> toMap() {
+        Map<String, String> result = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            result.put(keys[i], values[i]);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private int indexOf(String key) {
+        return Arrays.binarySearch(keys, keyProcessor.apply(key));
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.provider;
+
+import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.model.Property;
+import org.mdcfg.utils.ProviderUtils;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of resolved property values.
+ * <p> Key is a property with projection of context on keys that property value depends on: its dimensions,
+ * dimensions of its enabled@ selectors and keys of all properties and context values it references.
+ * So unrelated context values don't create new entries. Cache is created per loaded config and dropped with it.
+ * <p> Entries are split into segments with own lock to reduce contention.
+ */
+class ResultCache {
+    private static final int MAX_SEGMENTS = 16;
+    /** marks context key that is absent, so it differs from key with null value */
+    private static final Object ABSENT = new Object();
+    /** marks cached null value */
+    private static final Object NULL = new Object();
+
+    @FunctionalInterface
+    interface Loader { String load() throws MdcException; }
+
+    private final Map<Property, String[]> contextKeys;
+    private final Segment[] segments;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    /**
+     * Create cache keeping values of properties that are taken from previous config as is.
+     * Such properties reference only properties that are also taken as is, so their values are still valid.
+     *
+     * @param maxSize maximum number of entries.
+     * @param contextKeys context keys that value of each property depends on.
+     * @param previous cache of previous config or null.
+     * @param hits counter of cache hits, shared between caches of all loaded configs.
+     * @param misses counter of cache misses, shared between caches of all loaded configs.
+     */
+    ResultCache(int maxSize, Map<Property, String[]> contextKeys, ResultCache previous, LongAdder hits, LongAdder misses) {
+        this.contextKeys = contextKeys;
+        this.hits = hits;
+        this.misses = misses;
+        int count = Math.min(MAX_SEGMENTS, maxSize);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment((maxSize + count - 1) / count);
+        }
+        if (previous != null) {
+            copyEntries(previous);
+        }
+    }
+
+    /** Return cached value of property or load and cache it. */
+    String get(Property property, MdcContext context, Loader loader) throws MdcException {
+        Key key = new Key(property, project(context, contextKeys.get(property)));
+        Segment segment = segments[Math.floorMod(key.hashCode(), segments.length)];
+        Object value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+        if (value != null) {
+            hits.increment();
+            return value == NULL ? null : (String) value;
+        }
+        misses.increment();
+        String result = loader.load();
+        synchronized (segment) {
+            segment.put(key, result == null ? NULL : result);
+        }
+        return result;
+    }
+
+    private void copyEntries(ResultCache previous) {
+        for (Segment segment : previous.segments) {
+            synchronized (segment) {
+                for (Map.Entry<Key, Object> entry : segment.entrySet()) {
+                    if (contextKeys.containsKey(entry.getKey().property)) {
+                        segments[Math.floorMod(entry.getKey().hashCode(), segments.length)].put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    private static Object[] project(MdcContext context, String[] keys) {
+        Object[] result = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            Object value = context.get(keys[i]);
+            if (value == null) {
+                result[i] = context.containsKey(keys[i]) ? null : ABSENT;
+            } else if (value instanceof Collection) {
+                // copy lists, so key doesn't change if caller changes context later
+                result[i] = ProviderUtils.toList(value);
+            } else if (value.getClass().isArray()) {
+                result[i] = new ArrayList<>(ProviderUtils.toList(value));
+            } else {
+                result[i] = value;
+            }
+        }
+        return result;
+    }
+
+    private static class Segment extends LinkedHashMap<Key, Object> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private static class Key {
+        private final Property property;
+        private final Object[] values;
+        private final int hash;
+
+        Key(Property property, Object[] values) {
+            this.property = property;
+            this.values = values;
+            this.hash = 31 * System.identityHashCode(property) + Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return property == other.property && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
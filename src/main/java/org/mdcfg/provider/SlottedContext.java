@@ -0,0 +1,319 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.provider;
+
+import lombok.Getter;
+import org.mdcfg.model.Dimension;
+import org.mdcfg.model.DimensionRegistry;
+import org.mdcfg.model.ValueDictionary;
+import org.mdcfg.utils.ProviderUtils;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * {@link MdcContext} built against dimensions of loaded config, create it with {@link MdcProvider#createContext()}.
+ * <p> Values of known dimensions are stored in slots indexed by dimension ordinal together with their dictionary
+ * ids and parsed numbers, which are computed once on {@code put}. Selectors read slots directly, so context built
+ * once can be reused for many lookups without encoding values again.
+ * <p> Map views write through, removal or {@code setValue} on them updates slots as well. Collection and array
+ * values of dimensions are copied on {@code put}, so later changes of passed value don't make slots stale.
+ * After config reload lookups fall back to the same path as for plain {@link MdcContext}.
+ */
+public class SlottedContext extends MdcContext {
+    @Getter private final transient DimensionRegistry registry;
+    private final transient Object[] slots;
+    private final transient int[][] ids;
+    private final transient int[][] listIds;
+    private final transient double[][] numbers;
+
+    SlottedContext(DimensionRegistry registry) {
+        this.registry = registry;
+        int size = registry.size();
+        this.slots = new Object[size];
+        this.ids = new int[size][];
+        this.listIds = new int[size][];
+        this.numbers = new double[size][];
+        for (int i = 0; i < size; i++) {
+            encode(registry.get(i), null);
+        }
+    }
+
+    /** Get ids of dimension value. */
+    public int[] ids(Dimension dimension) {
+        return dimension.isList() ? listIds[dimension.getOrdinal()] : ids[dimension.getOrdinal()];
+    }
+
+    /** Get parsed numbers of dimension value, {@code NaN} for value that is not a number. */
+    public double[] numbers(Dimension dimension) {
+        double[] result = numbers[dimension.getOrdinal()];
+        return result != null ? result : ProviderUtils.toNumbers(slots[dimension.getOrdinal()]);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Object previous = super.put(key, value);
+        update(key);
+        return previous;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        m.forEach(this::put);
+    }
+
+    @Override
+    public Object putIfAbsent(String key, Object value) {
+        return update(key, super.putIfAbsent(key, value));
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return update(key, super.remove(key));
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        return update(key, super.remove(key, value));
+    }
+
+    @Override
+    public Object replace(String key, Object value) {
+        return update(key, super.replace(key, value));
+    }
+
+    @Override
+    public boolean replace(String key, Object oldValue, Object newValue) {
+        return update(key, super.replace(key, oldValue, newValue));
+    }
+
+    @Override
+    public Object computeIfAbsent(String key, Function<? super String, ?> mappingFunction) {
+        return update(key, super.computeIfAbsent(key, mappingFunction));
+    }
+
+    @Override
+    public Object computeIfPresent(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        return update(key, super.computeIfPresent(key, remappingFunction));
+    }
+
+    @Override
+    public Object compute(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        return update(key, super.compute(key, remappingFunction));
+    }
+
+    @Override
+    public Object merge(String key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        return update(key, super.merge(key, value, remappingFunction));
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super Object, ?> function) {
+        super.replaceAll(function);
+        keySet().forEach(this::update);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        for (int i = 0; i < slots.length; i++) {
+            encode(registry.get(i), null);
+        }
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<String> iterator() {
+                return new ViewIterator<>(Map.Entry::getKey);
+            }
+
+            @Override
+            public int size() {
+                return SlottedContext.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                boolean present = containsKey(o);
+                SlottedContext.this.remove(o);
+                return present;
+            }
+
+            @Override
+            public void clear() {
+                SlottedContext.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Object> iterator() {
+                return new ViewIterator<>(Map.Entry::getValue);
+            }
+
+            @Override
+            public int size() {
+                return SlottedContext.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsValue(o);
+            }
+
+            @Override
+            public void clear() {
+                SlottedContext.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new ViewIterator<>(SlotEntry::new);
+            }
+
+            @Override
+            public int size() {
+                return SlottedContext.this.size();
+            }
+
+            @Override
+            public void clear() {
+                SlottedContext.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public SlottedContext clone() { //NOSONAR
+        SlottedContext copy = new SlottedContext(registry);
+        copy.putAll(this);
+        return copy;
+    }
+
+    private <T> T update(Object key, T result) {
+        update(key);
+        return result;
+    }
+
+    /** Encode current value of key if it is a known dimension. */
+    private void update(Object key) {
+        ValueDictionary dictionary = key instanceof String ? registry.find((String) key) : null;
+        if (dictionary != null) {
+            Object value = get(key);
+            Object copy = copy(value);
+            if (copy != value) {
+                // replacing value of existing key is not a structural change, so open views stay valid
+                super.put((String) key, copy);
+            }
+            encode(dictionary, copy);
+        }
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof List) {
+            return Collections.unmodifiableList(new ArrayList<>((List<?>) value));
+        }
+        if (value instanceof Set) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>((Set<?>) value));
+        }
+        if (value instanceof Collection) {
+            return Collections.unmodifiableCollection(new ArrayList<>((Collection<?>) value));
+        }
+        return value instanceof Object[] ? ((Object[]) value).clone() : value;
+    }
+
+    private void encode(ValueDictionary dictionary, Object value) {
+        int ordinal = dictionary.getOrdinal();
+        slots[ordinal] = value;
+        ids[ordinal] = dictionary.encode(value, false);
+        listIds[ordinal] = dictionary.encode(value, true);
+        numbers[ordinal] = dictionary.isRange() ? ProviderUtils.toNumbers(value) : null;
+    }
+
+    /** Iterator of map view that updates slot of removed key. */
+    private class ViewIterator<T> implements Iterator<T> {
+        private final Iterator<Map.Entry<String, Object>> entries = SlottedContext.super.entrySet().iterator();
+        private final Function<Map.Entry<String, Object>, T> view;
+        private String last;
+
+        ViewIterator(Function<Map.Entry<String, Object>, T> view) {
+            this.view = view;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return entries.hasNext();
+        }
+
+        @Override
+        public T next() {
+            Map.Entry<String, Object> entry = entries.next();
+            last = entry.getKey();
+            return view.apply(entry);
+        }
+
+        @Override
+        public void remove() {
+            entries.remove();
+            update(last);
+        }
+    }
+
+    /** Entry of map view that updates slot on {@code setValue}. */
+    private class SlotEntry implements Map.Entry<String, Object> {
+        private final Map.Entry<String, Object> entry;
+
+        SlotEntry(Map.Entry<String, Object> entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public String getKey() {
+            return entry.getKey();
+        }
+
+        @Override
+        public Object getValue() {
+            return entry.getValue();
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object previous = entry.setValue(value);
+            update(entry.getKey());
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return entry.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return entry.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return entry.toString();
+        }
+    }
+}
@@ -5,22 +5,35 @@ package org.mdcfg.source;
 
 import org.mdcfg.exceptions.MdcException;
 import org.mdcfg.model.Config;
+import org.mdcfg.utils.SourceUtils;
 import org.mdcfg.watchers.FileWatcher;
 import org.mdcfg.watchers.FolderWatcher;
 import org.mdcfg.watchers.Watcher;
+import org.mdcfg.watchers.WatchRegistry;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-/** Base class for all File based source implementations */
+/**
+ * Base class for all File based source implementations.
+ * <p> Properties of each file are kept after read, so on reload only files that were created
+ * or changed since previous read are parsed again, and then all files are merged.
+ */
 public abstract class FileSource extends StreamSource {
     private File root;
-    private List<File> includes;
-    private Watcher watcher;
+    private volatile List<File> includes;
+    private volatile Watcher watcher;
+    /** properties of files by absolute path, files that are not source anymore are removed on read */
+    private final Map<Path, ParsedFile> parsedFiles = new HashMap<>();
+    /** files reported by watcher as changed, they are read even if size and modification time are the same */
+    private final Set<Path> dirtyFiles = ConcurrentHashMap.newKeySet();
 
     protected FileSource(InputStream stream) {
         super(stream);
@@ -35,11 +48,12 @@ public abstract class FileSource extends StreamSource {
     }
 
     @Override
-    public Map<String, Map<String, String>> read(
+    public synchronized Map<String, Map<String, String>> readValues(
             Function<Map<String, Map<String, String>>, Map<String, String>> includesExtractor,
-            Config config) throws MdcException {
+            Config config,
+            Map<String, Object> nativeValues) throws MdcException {
         if(root == null){
-            return super.read(includesExtractor, config);
+            return super.readValues(includesExtractor, config, nativeValues);
         }
 
         if(!root.exists()){
@@ -51,24 +65,34 @@ public abstract class FileSource extends StreamSource {
             if (files == null || files.length == 0) {
                 throw new MdcException("Folder doesn't contain any config file.");
             }
-            return readAndMerge(toStreamList(Arrays.asList(files)), new HashMap<>(), config);
+            return readFiles(Arrays.asList(files), config, nativeValues);
         } else {
-            Map<String, Map<String, String>> main = read(toStream(root), config);
+            Map<String, Map<String, String>> main = parse(root, toPath(root), config).getData();
+            List<File> previous = includes;
             includes = includesExtractor.apply(main).values().stream()
                     .map(v -> root.getParentFile().toPath().resolve(Paths.get(v)).toFile())
                     .collect(Collectors.toList());
-            return readAndMerge(toStreamList(includes), main, config);
+            if (previous != null && !previous.equals(includes)) {
+                // watcher takes files when reload has updated includes, not when change is reported
+                Optional.ofNullable(watcher).ifPresent(Watcher::refresh);
+            }
+            return readFiles(getAllSourceFiles(), config, nativeValues);
         }
     }
 
     @Override
     public void observeChange(Runnable onChange, long reloadInterval) throws MdcException {
+        observeChange(onChange, reloadInterval, WatchRegistry.shared());
+    }
+
+    @Override
+    public void observeChange(Runnable onChange, long reloadInterval, WatchRegistry registry) throws MdcException {
         if(root == null){
             throw new MdcException("Auto reload not supported for stream-based sources.");
         }
         watcher = root.isDirectory()
-                ? new FolderWatcher(root.getAbsolutePath(), onChange, reloadInterval)
-                : new FileWatcher(getAllSourceFiles(), onChange, reloadInterval);
+                ? new FolderWatcher(root.getAbsolutePath(), this::markDirty, onChange, reloadInterval, registry)
+                : new FileWatcher(this::getAllSourceFiles, this::markDirty, onChange, reloadInterval, registry);
         watcher.start();
     }
 
@@ -80,22 +104,65 @@ public abstract class FileSource extends StreamSource {
     /** Get array of appropriate files in folder */
     abstract File[] listFiles(File folder);
 
-    private List<InputStream> toStreamList(List<File> files) throws MdcException {
-        List<InputStream> streams = new ArrayList<>();
+    /** Read properties from files, parsing only changed ones, and merge them into one Map */
+    private Map<String, Map<String, String>> readFiles(List<File> files,
+                                                       Config config,
+                                                       Map<String, Object> nativeValues) throws MdcException {
+        Map<String, Map<String, String>> merged = new LinkedHashMap<>();
+        Set<Path> paths = new HashSet<>();
         for (File file : files) {
-            streams.add(toStream(file));
+            Path path = toPath(file);
+            paths.add(path);
+            ParsedFile parsed = parse(file, path, config);
+            merge(parsed.getData(), merged);
+            if (nativeValues != null) {
+                nativeValues.putAll(parsed.getNativeValues());
+            }
+        }
+        parsedFiles.keySet().retainAll(paths);
+        return merged;
+    }
+
+    /** Return properties of file kept after previous read if file wasn't changed, otherwise parse it. */
+    private ParsedFile parse(File file, Path path, Config config) throws MdcException {
+        ParsedFile cached = parsedFiles.get(path);
+        boolean dirty = dirtyFiles.remove(path);
+        long size = file.length();
+        long lastModified = file.lastModified();
+        if (cached != null && !dirty && cached.hasStamp(size, lastModified)) {
+            return cached;
+        }
+        byte[] content = readContent(file);
+        byte[] hash = SourceUtils.hash(content);
+        ParsedFile parsed;
+        if (cached != null && cached.hasContent(hash)) {
+            parsed = cached.withStamp(size, lastModified);
+        } else {
+            Map<String, Object> fileNativeValues = new IdentityHashMap<>();
+            parsed = new ParsedFile(size, lastModified, hash,
+                    read(new ByteArrayInputStream(content), config, fileNativeValues), fileNativeValues);
         }
-        return streams;
+        parsedFiles.put(path, parsed);
+        return parsed;
     }
 
-    private InputStream toStream(File file) throws MdcException {
+    /** Mark file as changed, so it is read on next reload even if its size and modification time are the same. */
+    private void markDirty(Path file) {
+        dirtyFiles.add(file.toAbsolutePath().normalize());
+    }
+
+    private byte[] readContent(File file) throws MdcException {
         try {
-            return new FileInputStream(file);
-        } catch (FileNotFoundException e) {
+            return Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
             throw new MdcException(String.format("Couldn't open stream for file %s", file.getAbsolutePath()), e);
         }
     }
 
+    private static Path toPath(File file) {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+
     /** Combine root file with includes into single list */
     private List<File> getAllSourceFiles(){
         return Stream.concat(Stream.of(root), includes.stream()).collect(Collectors.toList());
@@ -41,13 +41,14 @@ public class HoconSource extends FileSource {
 
     @Override
     Map<String, Map<String, String>> read(InputStream is,
-                                          Config config) throws MdcException {
+                                          Config config,
+                                          Map<String, Object> nativeValues) throws MdcException {
         try (is) {
             String inputString = new String(is.readAllBytes(), StandardCharsets.UTF_8);
             String data = numberRows(inputString);
             Map<String, Object> rawData = new ObjectMapper(new HoconFactory()).readValue(data, TYPE);
             Map<String, Object> flattened = SourceUtils.flatten(orderData(rawData), config);
-            return SourceUtils.collectProperties(flattened);
+            return SourceUtils.collectProperties(flattened, nativeValues);
         } catch (Exception e) {
             throw new MdcException("Couldn't read input source", e);
         }
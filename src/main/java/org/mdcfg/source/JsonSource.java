@@ -31,11 +31,12 @@ public class JsonSource extends FileSource {
 
     @Override
     Map<String, Map<String, String>> read(InputStream is,
-                                          Config config) throws MdcException {
+                                          Config config,
+                                          Map<String, Object> nativeValues) throws MdcException {
         try (is) {
             Map<String, Object> rawData = new ObjectMapper().readValue(is, TYPE);
             Map<String, Object> flattened = SourceUtils.flatten(rawData, config);
-            return SourceUtils.collectProperties(flattened);
+            return SourceUtils.collectProperties(flattened, nativeValues);
         } catch (Exception e) {
             throw new MdcException("Couldn't read input source", e);
         }
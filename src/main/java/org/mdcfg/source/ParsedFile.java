@@ -0,0 +1,47 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.source;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Properties read from one source file with size, modification time and content hash of the file,
+ * so file that wasn't changed since previous read is not parsed again.
+ */
+@Getter
+class ParsedFile {
+    private final long size;
+    private final long lastModified;
+    private final byte[] hash;
+    private final Map<String, Map<String, String>> data;
+    /** values parsed as other than String mapped by String value instances of data */
+    private final Map<String, Object> nativeValues;
+
+    ParsedFile(long size, long lastModified, byte[] hash,
+               Map<String, Map<String, String>> data, Map<String, Object> nativeValues) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.hash = hash;
+        this.data = data;
+        this.nativeValues = nativeValues;
+    }
+
+    /** Check whether file still has size and modification time it had when it was read. */
+    boolean hasStamp(long size, long lastModified) {
+        return this.size == size && this.lastModified == lastModified;
+    }
+
+    /** Check whether file content has the same hash, so it doesn't need to be parsed again. */
+    boolean hasContent(byte[] hash) {
+        return Arrays.equals(this.hash, hash);
+    }
+
+    /** Copy parsed data of file which content wasn't changed, but size or modification time were. */
+    ParsedFile withStamp(long size, long lastModified) {
+        return new ParsedFile(size, lastModified, hash, data, nativeValues);
+    }
+}
@@ -8,6 +8,7 @@ import org.mdcfg.exceptions.MdcException;
 import java.util.Map;
 import java.util.function.Function;
 import org.mdcfg.model.Config;
+import org.mdcfg.watchers.WatchRegistry;
 
 /**
  * Interface for config source implementations.
@@ -17,9 +18,33 @@ public interface Source {
     Map<String, Map<String, String>> read(
             Function<Map<String, Map<String, String>>, Map<String, String>> includesExtractor,
             Config config) throws MdcException;
+
+    /**
+     * Read properties into Map object, remembering values which source format parsed as other than String,
+     * like numbers, booleans or lists. Each such value is put into {@code nativeValues} with key that is
+     * the same String instance as returned in properties. Default implementation doesn't remember any value.
+     *
+     * @param nativeValues identity based map where parsed values are put.
+     */
+    default Map<String, Map<String, String>> readValues(
+            Function<Map<String, Map<String, String>>, Map<String, String>> includesExtractor,
+            Config config,
+            Map<String, Object> nativeValues) throws MdcException {
+        return read(includesExtractor, config);
+    }
+
     /** Set up change watcher */
     void observeChange(Runnable onChange, long reloadInterval) throws MdcException;
 
+    /**
+     * Set up change watcher on provided registry. Default implementation ignores registry.
+     *
+     * @param registry registry that watches files and runs delayed {@code onChange} calls.
+     */
+    default void observeChange(Runnable onChange, long reloadInterval, WatchRegistry registry) throws MdcException {
+        observeChange(onChange, reloadInterval);
+    }
+
     /**
      * Stop watching for source changes. Default implementation does nothing
      * allowing stream-based sources to ignore this call.
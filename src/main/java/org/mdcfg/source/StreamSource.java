@@ -26,16 +26,29 @@ public abstract class StreamSource implements Source {
     public Map<String, Map<String, String>> read(
             Function<Map<String, Map<String, String>>, Map<String, String>> includesExtractor,
             Config config) throws MdcException {
-        Map<String, Map<String, String>> main = read(sourceStream, config);
+        return readValues(includesExtractor, config, null);
+    }
+
+    @Override
+    public Map<String, Map<String, String>> readValues(
+            Function<Map<String, Map<String, String>>, Map<String, String>> includesExtractor,
+            Config config,
+            Map<String, Object> nativeValues) throws MdcException {
+        Map<String, Map<String, String>> main = read(sourceStream, config, nativeValues);
         List<InputStream> streams = new ArrayList<>();
         for (String value : includesExtractor.apply(main).values()) {
             streams.add(toInputStream(value));
         }
-        return readAndMerge(streams, main, config);
+        return readAndMerge(streams, main, config, nativeValues);
     }
 
-    /** Read one file */
-    abstract Map<String, Map<String, String>> read(InputStream is, Config config) throws MdcException;
+    /**
+     * Read one file.
+     *
+     * @param nativeValues map where values parsed as other than String are put, null if they are not needed.
+     */
+    abstract Map<String, Map<String, String>> read(InputStream is, Config config,
+                                                   Map<String, Object> nativeValues) throws MdcException;
 
     private InputStream toInputStream(String source) throws MdcException {
         try {
@@ -48,18 +61,23 @@ public abstract class StreamSource implements Source {
     /** Read properties from files and merge them into one Map */
     protected Map<String, Map<String, String>> readAndMerge(List<InputStream> inputStreams,
                                                             Map<String, Map<String, String>> merged,
-                                                            Config config) throws MdcException {
+                                                            Config config,
+                                                            Map<String, Object> nativeValues) throws MdcException {
         for (InputStream is : inputStreams) {
-            Map<String, Map<String, String>> map = read(is, config);
-            Set<String> interfileKeys = getInterfileKeys(map, merged);
-            if(!interfileKeys.isEmpty()){
-                throw new MdcException(String.format("There is interfile configuration for keys %s", interfileKeys));
-            }
-            merged.putAll(map);
+            merge(read(is, config, nativeValues), merged);
         }
         return merged;
     }
 
+    /** Merge properties of one file into already merged ones, properties must not exist in different files */
+    protected void merge(Map<String, Map<String, String>> map, Map<String, Map<String, String>> merged) throws MdcException {
+        Set<String> interfileKeys = getInterfileKeys(map, merged);
+        if(!interfileKeys.isEmpty()){
+            throw new MdcException(String.format("There is interfile configuration for keys %s", interfileKeys));
+        }
+        merged.putAll(map);
+    }
+
     /** Get list of properties that exists in different source files */
     private Set<String> getInterfileKeys(Map<String, Map<String, String>> map, Map<String, Map<String, String>> merged) {
         Set<String> intersection = new HashSet<>(merged.keySet());
@@ -31,12 +31,13 @@ public class YamlSource extends FileSource {
 
     @Override
     Map<String, Map<String, String>> read(InputStream is,
-                                          Config config) throws MdcException {
+                                          Config config,
+                                          Map<String, Object> nativeValues) throws MdcException {
         try (is) {
             Map<String, Object> rawData = new Yaml().load(is);
             rawData = Optional.ofNullable(rawData).orElse(new HashMap<>());
             Map<String, Object> flattened = SourceUtils.flatten(rawData, config);
-            return SourceUtils.collectProperties(flattened);
+            return SourceUtils.collectProperties(flattened, nativeValues);
         } catch (Exception e) {
             throw new MdcException("Couldn't read input source", e);
         }
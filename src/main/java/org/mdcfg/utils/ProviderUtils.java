@@ -22,4 +22,52 @@ public final class ProviderUtils {
         }
         return list;
     }
+
+    /**
+     * Convert string to form in which two strings are equal only if {@link String#equalsIgnoreCase} returns true.
+     */
+    public static String foldCase(String value) {
+        char[] chars = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            char folded = Character.toLowerCase(Character.toUpperCase(c));
+            if (folded != c) {
+                if (chars == null) {
+                    chars = value.toCharArray();
+                }
+                chars[i] = folded;
+            }
+        }
+        return chars == null ? value : new String(chars);
+    }
+
+    /**
+     * Parse value as number, every element of List value is parsed separately.
+     * Element that is not a number is parsed as {@code NaN}, so it doesn't fit any range.
+     */
+    public static double[] toNumbers(Object value) {
+        if (value == null) {
+            return new double[0];
+        }
+        List<?> list = toList(value);
+        if (list == null) {
+            return new double[]{toNumber(value)};
+        }
+        double[] result = new double[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = toNumber(list.get(i));
+        }
+        return result;
+    }
+
+    private static double toNumber(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        try {
+            return value != null ? Double.parseDouble(value.toString()) : Double.NaN;
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
 }
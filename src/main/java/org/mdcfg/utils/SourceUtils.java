@@ -7,6 +7,8 @@ import org.mdcfg.exceptions.MdcException;
 import org.apache.commons.lang3.tuple.Pair;
 import org.mdcfg.model.Config;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -18,6 +20,7 @@ public final class SourceUtils {
     private static final String DIMENSION_SEPARATOR = ":";
     private static final String ANY = "any";
     private static final Pattern PROPERTY_PATTERN = Pattern.compile(":[^:]*@.*");
+    private static final String HASH_ALGORITHM = "SHA-256";
 
     private SourceUtils() {}
 
@@ -43,16 +46,28 @@ public final class SourceUtils {
 
     /** Get configuration grouped by properties */
     public static Map<String, Map<String, String>> collectProperties(Map<String, Object> rawData) throws MdcException {
+        return collectProperties(rawData, null);
+    }
+
+    /**
+     * Get configuration grouped by properties, remembering values that were parsed by source as other than String.
+     *
+     * @param rawData flattened configuration.
+     * @param nativeValues map where returned String value instance is mapped to its parsed value, null if not needed.
+     */
+    public static Map<String, Map<String, String>> collectProperties(Map<String, Object> rawData,
+                                                                     Map<String, Object> nativeValues) throws MdcException {
         Map<String, Map<String, String>> data = new LinkedHashMap<>();
         for(var entry:rawData.entrySet()) {
             String key = entry.getKey();
+            String value = toString(entry.getValue(), nativeValues);
             if(key.contains(SELECTOR_SEPARATOR)){
                 Pair<String, String> propertyMap = splitProperty(key);
                 Map<String, String> prop = getProperty(data, propertyMap.getKey());
-                prop.put(propertyMap.getValue(), entry.getValue().toString());
+                prop.put(propertyMap.getValue(), value);
             } else {
                 Map<String, String> prop = getProperty(data, key);
-                prop.put(ANY, entry.getValue().toString());
+                prop.put(ANY, value);
             }
         }
         return data;
@@ -76,6 +91,16 @@ public final class SourceUtils {
         return Pair.of(key, value);
     }
 
+    /** Calculate hash of source file content, used to check whether file was really changed. */
+    public static byte[] hash(byte[] content) {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM).digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
     /** replace only specified RegExp group with specified string */
     public static String replaceGroup(Pattern regexp, int groupIndex, String source, String replacement){
         Matcher matcher = regexp.matcher(source);
@@ -124,6 +149,16 @@ public final class SourceUtils {
         return dimension + SELECTOR_SEPARATOR + value;
     }
 
+    private static String toString(Object value, Map<String, Object> nativeValues) {
+        String result = value.toString();
+        if (nativeValues != null && !(value instanceof String)) {
+            // new instance, so value is found only by the string created for it
+            result = new String(result);
+            nativeValues.put(result, value);
+        }
+        return result;
+    }
+
     private static Map<String, String> getProperty(Map<String, Map<String, String>> data, String key) {
         return data.computeIfAbsent(key, k -> new LinkedHashMap<>());
     }
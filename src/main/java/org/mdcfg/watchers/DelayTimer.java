@@ -3,22 +3,29 @@
  */
 package org.mdcfg.watchers;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /** Helper class for making delayed async calls */
 public class DelayTimer {
     private final long delay;
-    private final Timer timer;
-    private boolean started;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private volatile ScheduledFuture<?> task;
     private final Runnable executor;
 
-    class Task extends TimerTask {
-        @Override
-        public void run() {
-            executor.run();
-            started = false;
-        }
+    /**
+     * Constructor, calls are made by scheduler of {@link WatchRegistry#shared()}.
+     *
+     * @param executor Function to be called periodically.
+     * @param delay interval in ms.
+     */
+    public DelayTimer(Runnable executor, long delay) {
+        this(executor, delay, WatchRegistry.shared().getScheduler());
     }
 
     /**
@@ -26,25 +33,34 @@ public class DelayTimer {
      *
      * @param executor Function to be called periodically.
      * @param delay interval in ms.
+     * @param scheduler executor that makes calls, may be shared with other timers.
      */
-    public DelayTimer(Runnable executor, long delay) {
+    public DelayTimer(Runnable executor, long delay, ScheduledExecutorService scheduler) {
         this.executor = executor;
         this.delay = delay;
-        timer = new Timer("Delay Timer");
+        this.scheduler = scheduler;
     }
 
-    /** Schedule async delayed calls until someone calls {@code cancel()} */
+    /**
+     * Schedule async delayed call until someone calls {@code cancel()}.
+     * Calls made while call is scheduled are ignored, calls made while it runs schedule the next one.
+     */
     public void schedule(){
-        if(!started) {
-            timer.schedule(new Task(), delay);
-            started = true;
+        if(!cancelled && started.compareAndSet(false, true)) {
+            task = scheduler.schedule(this::run, delay, TimeUnit.MILLISECONDS);
         }
     }
 
     /** Cancel scheduled calls */
     public void cancel(){
-        if(started) {
-            timer.cancel();
+        cancelled = true;
+        Optional.ofNullable(task).ifPresent(t -> t.cancel(false));
+    }
+
+    private void run() {
+        started.set(false);
+        if (!cancelled) {
+            executor.run();
         }
     }
 }
@@ -3,51 +3,164 @@
  */
 package org.mdcfg.watchers;
 
+import org.mdcfg.utils.SourceUtils;
+
 import java.io.File;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
-/** Periodically checks whether file is changed by its modification time */
+/**
+ * Watches files, e.g. root file with includes, by change events of their parent folders.
+ * <p> Events of other files in the same folders are ignored. Events are collected during delay,
+ * then content hash of reported files is checked, so events that don't change content, like touch,
+ * don't cause reload. Watched files are taken again on {@link #refresh()}, called by source when includes change.
+ */
 public class FileWatcher implements Watcher {
-    private final List<File> files;
-    private final long interval;
+    private final Supplier<List<File>> files;
+    private final Consumer<Path> onFileChange;
     private final Runnable onChange;
-    private boolean isWatching = true;
+    private final DelayTimer timer;
+    /** content hash of each watched file by absolute path, null value is not allowed, so missing file has no hash */
+    private final Map<Path, Optional<byte[]>> hashes = new ConcurrentHashMap<>();
+    /** watched files reported by events since last check */
+    private final Set<Path> reported = ConcurrentHashMap.newKeySet();
+    private final Map<Path, WatchRegistry.Subscription> folders = new HashMap<>();
+    private final WatchRegistry registry;
+    private boolean stopped;
 
     public FileWatcher(List<File> files, Runnable onChange, long interval) {
+        this(() -> files, file -> {}, onChange, interval, WatchRegistry.shared());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param files supplier of watched files.
+     * @param onFileChange called with absolute path of each file which content was changed, before {@code onChange}.
+     * @param onChange called once after delay if content of any file was changed.
+     * @param interval delay in ms.
+     * @param registry registry that delivers events and runs delayed calls.
+     */
+    public FileWatcher(Supplier<List<File>> files, Consumer<Path> onFileChange, Runnable onChange, long interval,
+                       WatchRegistry registry) {
         this.files = files;
+        this.onFileChange = onFileChange;
         this.onChange = onChange;
-        this.interval = interval;
+        this.registry = registry;
+        this.timer = new DelayTimer(this::checkChanges, interval, registry.getScheduler());
     }
 
     @Override
     public void start() {
-        isWatching = true;
-        ExecutorService executorService = Executors.newCachedThreadPool();
-        executorService.execute(() -> {
-            try {
-                Map<File, Long> original = files.stream()
-                        .collect(Collectors.toMap(f->f, File::lastModified, (existing, replacement) -> existing));
-                while (isWatching) {
-                    Thread.sleep(interval);
-                    boolean changed = original.entrySet().stream().anyMatch(e -> e.getKey().lastModified() > e.getValue());
-                    if (changed) {
-                        onChange.run();
-                        original.replaceAll((k, v) -> k.lastModified());
-                    }
+        try {
+            watchFiles();
+        } catch (IOException e) {
+            throw new IllegalStateException("Couldn't watch config files", e);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        stopped = true;
+        timer.cancel();
+        folders.values().forEach(WatchRegistry.Subscription::cancel);
+        folders.clear();
+    }
+
+    /** Remember files of folder reported by event and schedule check if any of them is watched. */
+    private void fileChanged(Path file) {
+        if (file == null) {
+            reported.addAll(hashes.keySet());
+            timer.schedule();
+        } else if (hashes.containsKey(file)) {
+            reported.add(file);
+            timer.schedule();
+        }
+    }
+
+    /** Check hash of reported files and call {@code onChange} if content of any of them was changed. */
+    private synchronized void checkChanges() {
+        boolean changed = false;
+        for (Iterator<Path> it = reported.iterator(); it.hasNext(); ) {
+            Path file = it.next();
+            it.remove();
+            Optional<byte[]> hash = hash(file);
+            Optional<byte[]> previous = hashes.put(file, hash);
+            if (previous == null || !Arrays.equals(previous.orElse(null), hash.orElse(null))) {
+                onFileChange.accept(file);
+                changed = true;
+            }
+        }
+        if (changed) {
+            onChange.run();
+        }
+        if (folders.values().stream().anyMatch(subscription -> !subscription.isValid())) {
+            refresh();
+        }
+    }
+
+    @Override
+    public synchronized void refresh() {
+        try {
+            watchFiles();
+        } catch (IOException e) {
+            // folder was deleted, files are checked again after delay until folder can be watched
+            reported.addAll(hashes.keySet());
+            timer.schedule();
+        }
+    }
+
+    /**
+     * Register parent folders of currently watched files, remember hash of files that are new
+     * and stop watching folders that don't contain watched files anymore.
+     * Folders which subscriptions became invalid, e.g. deleted and recreated ones, are registered again.
+     *
+     * @throws IOException if any folder can't be watched, other folders are still registered.
+     */
+    private synchronized void watchFiles() throws IOException {
+        if (stopped) {
+            return;
+        }
+        Set<Path> current = new HashSet<>();
+        Set<Path> currentFolders = new HashSet<>();
+        IOException failure = null;
+        for (File file : files.get()) {
+            Path path = file.toPath().toAbsolutePath().normalize();
+            current.add(path);
+            hashes.computeIfAbsent(path, FileWatcher::hash);
+            Path folder = path.getParent();
+            currentFolders.add(folder);
+            WatchRegistry.Subscription subscription = folders.get(folder);
+            if (subscription == null || !subscription.isValid()) {
+                try {
+                    folders.put(folder, registry.watch(folder, this::fileChanged));
+                } catch (IOException e) {
+                    failure = e;
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
             }
+        }
+        hashes.keySet().retainAll(current);
+        folders.entrySet().removeIf(entry -> {
+            boolean unused = !currentFolders.contains(entry.getKey());
+            if (unused) {
+                entry.getValue().cancel();
+            }
+            return unused;
         });
-        executorService.shutdown();
+        if (failure != null) {
+            throw failure;
+        }
     }
 
-    @Override
-    public void stop() {
-        isWatching = false;
+    private static Optional<byte[]> hash(Path file) {
+        try {
+            return Optional.of(SourceUtils.hash(Files.readAllBytes(file)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
     }
 }
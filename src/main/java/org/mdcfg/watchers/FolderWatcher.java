@@ -5,52 +5,84 @@ package org.mdcfg.watchers;
 
 import java.io.IOException;
 import java.nio.file.*;
-import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
-/** Periodically checks whether folder is changed by its modification time */
-public class FolderWatcher implements Watcher, Runnable{
+/** Watches folder by change events of its files */
+public class FolderWatcher implements Watcher {
     private final String path;
+    private final Consumer<Path> onFileChange;
+    private final Runnable onChange;
     private final DelayTimer timer;
-    private Thread thread;
+    private final WatchRegistry registry;
+    private WatchRegistry.Subscription subscription;
+    private boolean stopped;
 
     public FolderWatcher(String path, Runnable onChange, long interval) {
+        this(path, file -> {}, onChange, interval, WatchRegistry.shared());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param path folder to watch.
+     * @param onFileChange called immediately with absolute path of each created, changed or deleted file.
+     * @param onChange called once after delay for all changes made during it.
+     * @param interval delay in ms.
+     * @param registry registry that delivers events and runs delayed calls.
+     */
+    public FolderWatcher(String path, Consumer<Path> onFileChange, Runnable onChange, long interval,
+                         WatchRegistry registry) {
         this.path = path;
-        timer = new DelayTimer(onChange, interval);
+        this.onFileChange = onFileChange;
+        this.registry = registry;
+        this.onChange = onChange;
+        timer = new DelayTimer(this::changed, interval, registry.getScheduler());
     }
 
     @Override
-    public void start(){
-        thread = new Thread(this);
-        thread.setDaemon(true);
-        thread.start();
+    public synchronized void start(){
+        try {
+            subscription = watch();
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("Couldn't watch folder %s", path), e);
+        }
     }
 
     @Override
-    public void run() {
-        try ( WatchService watchService = FileSystems.getDefault().newWatchService()) {
-            Path watchPath = Paths.get(path);
-            watchPath.register(
-                    watchService,
-                    StandardWatchEventKinds.ENTRY_CREATE,
-                    StandardWatchEventKinds.ENTRY_DELETE,
-                    StandardWatchEventKinds.ENTRY_MODIFY);
-
-            WatchKey key;
-            while ((key = watchService.take()) != null) {
-                List<WatchEvent<?>> watchEvents = key.pollEvents();
-                if(!watchEvents.isEmpty()) {
+    public synchronized void stop() {
+        stopped = true;
+        timer.cancel();
+        Optional.ofNullable(subscription).ifPresent(WatchRegistry.Subscription::cancel);
+    }
+
+    private WatchRegistry.Subscription watch() throws IOException {
+        return registry.watch(Paths.get(path), file -> {
+            if (file != null) {
+                onFileChange.accept(file);
+            }
+            timer.schedule();
+        });
+    }
+
+    /**
+     * Call {@code onChange} after delay. If folder was deleted or recreated it is watched again first,
+     * while folder is missing it is tried again after delay without calling {@code onChange}.
+     */
+    private void changed() {
+        synchronized (this) {
+            if (stopped) {
+                return;
+            }
+            if (!subscription.isValid()) {
+                try {
+                    subscription = watch();
+                } catch (IOException e) {
                     timer.schedule();
+                    return;
                 }
-                key.reset();
             }
-        } catch (IOException | InterruptedException e){
-            Thread.currentThread().interrupt();
         }
-    }
-
-    @Override
-    public void stop() {
-        timer.cancel();
-        thread.interrupt();
+        onChange.run();
     }
 }
@@ -0,0 +1,77 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.watchers;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs reloads one at a time, so older data can't replace newer one.
+ * Changes requested while reload runs are collapsed into one follow-up reload,
+ * running reload is abandoned between its stages once newer change is requested.
+ */
+public class ReloadCoordinator {
+    /** Reload made of stages. */
+    @FunctionalInterface
+    public interface Reload {
+        /**
+         * @param superseded returns true if newer change is requested or coordinator is stopped,
+         *                   reload should check it between stages and stop without publishing result.
+         */
+        void run(BooleanSupplier superseded);
+    }
+
+    private final Reload reload;
+    private final Executor executor;
+    /** number of requested changes */
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopped;
+
+    /**
+     * @param reload reload to run on change.
+     * @param executor executor that runs reloads, it must not run them on calling thread.
+     */
+    public ReloadCoordinator(Reload reload, Executor executor) {
+        this.reload = reload;
+        this.executor = executor;
+    }
+
+    /** Request reload, it starts at once if no reload runs, otherwise after running one. */
+    public void request() {
+        requested.incrementAndGet();
+        start();
+    }
+
+    /** Stop running reloads, running one is abandoned at next stage. */
+    public void stop() {
+        stopped = true;
+    }
+
+    private void start() {
+        if (!stopped && running.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                running.set(false);
+            }
+        }
+    }
+
+    /** Reload until there are no changes requested after start of last reload. */
+    private void drain() {
+        long generation = requested.get();
+        try {
+            reload.run(() -> stopped || requested.get() != generation);
+        } finally {
+            running.set(false);
+            if (requested.get() != generation) {
+                start();
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg.watchers;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Watch service and scheduler shared by watchers of all providers, so number of threads doesn't grow
+ * with number of providers. One thread takes change events of all watched folders and passes them
+ * to listeners, delayed reloads of all providers run on one scheduled executor.
+ * <p> Threads are created lazily by provided {@link ThreadFactory}, so they can be virtual threads on Java 21+.
+ * Process wide instance is returned by {@link #shared()}.
+ * <p> Close own registry after providers that use it stopped auto reload, then its threads exit.
+ */
+public class WatchRegistry implements AutoCloseable {
+    private static final WatchRegistry SHARED = new WatchRegistry();
+
+    /** Receives change events of watched folder. */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * @param file absolute path of created, changed or deleted file, null if events were lost
+         *             or folder can't be watched anymore, so any file of folder may be changed.
+         */
+        void changed(Path file);
+    }
+
+    /**
+     * Listener registration, cancel it to stop receiving events. Subscription becomes invalid when folder
+     * can't be watched anymore, e.g. it was deleted or recreated, then folder must be watched again.
+     */
+    public class Subscription {
+        private final Path folder;
+        private final Listener listener;
+        private volatile boolean valid = true;
+
+        private Subscription(Path folder, Listener listener) {
+            this.folder = folder;
+            this.listener = listener;
+        }
+
+        public boolean isValid() {
+            return valid;
+        }
+
+        public void cancel() {
+            unwatch(this);
+        }
+    }
+
+    private final ThreadFactory threadFactory;
+    private final int reloadThreads;
+    /** registered folders with listeners by watch key */
+    private final Map<WatchKey, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> keys = new ConcurrentHashMap<>();
+    private WatchService watchService;
+    private ScheduledExecutorService scheduler;
+    private boolean closed;
+
+    /**
+     * Create registry with one daemon thread for events and two for delayed checks and reloads,
+     * so change can be noticed while reload runs.
+     */
+    public WatchRegistry() {
+        this(2, daemonThreadFactory());
+    }
+
+    /**
+     * @param reloadThreads number of threads running reloads of all providers.
+     * @param threadFactory factory of event and reload threads.
+     */
+    public WatchRegistry(int reloadThreads, ThreadFactory threadFactory) {
+        this.reloadThreads = reloadThreads;
+        this.threadFactory = threadFactory;
+    }
+
+    /** @return process wide registry used by providers which don't set their own one, it is never closed. */
+    public static WatchRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Start passing change events of folder to listener.
+     *
+     * @param folder folder to watch.
+     * @param listener listener of events.
+     * @return subscription to cancel when events are not needed anymore.
+     * @throws IOException if folder can't be watched.
+     */
+    public synchronized Subscription watch(Path folder, Listener listener) throws IOException {
+        checkOpen();
+        Path path = folder.toAbsolutePath().normalize();
+        WatchKey key = keys.get(path);
+        List<Subscription> orphaned = List.of();
+        if (key == null || !key.isValid()) {
+            WatchKey registered = path.register(getWatchService(),
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            if (key != null) {
+                // folder was recreated before its dead key was dispatched, listeners are moved to new key
+                orphaned = Optional.ofNullable(subscriptions.remove(key)).orElse(List.of());
+            }
+            key = registered;
+            keys.put(path, key);
+        }
+        List<Subscription> listeners = subscriptions.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>());
+        listeners.addAll(orphaned);
+        Subscription subscription = new Subscription(path, listener);
+        listeners.add(subscription);
+        deliver(orphaned, null);
+        return subscription;
+    }
+
+    /** @return executor that runs delayed reloads of all providers. */
+    public synchronized ScheduledExecutorService getScheduler() {
+        checkOpen();
+        if (scheduler == null) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(reloadThreads, threadFactory);
+            executor.setRemoveOnCancelPolicy(true);
+            scheduler = executor;
+        }
+        return scheduler;
+    }
+
+    /**
+     * Stop event thread and shut down scheduler, its threads exit after already scheduled reloads.
+     * Subscriptions become invalid and registry can't be used anymore.
+     *
+     * @throws IOException if watch service can't be closed.
+     * @throws IllegalStateException if registry is {@link #shared()}.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (this == SHARED) {
+            throw new IllegalStateException("Shared watch registry can't be closed.");
+        }
+        if (closed) {
+            return;
+        }
+        closed = true;
+        subscriptions.values().forEach(listeners -> listeners.forEach(subscription -> subscription.valid = false));
+        subscriptions.clear();
+        keys.clear();
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (watchService != null) {
+            // blocked take() of event thread throws ClosedWatchServiceException
+            watchService.close();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Watch registry is closed.");
+        }
+    }
+
+    private synchronized void unwatch(Subscription subscription) {
+        if (!subscription.valid) {
+            return;
+        }
+        WatchKey key = keys.get(subscription.folder);
+        List<Subscription> listeners = key != null ? subscriptions.get(key) : null;
+        if (listeners == null) {
+            return;
+        }
+        listeners.remove(subscription);
+        if (listeners.isEmpty()) {
+            subscriptions.remove(key);
+            keys.remove(subscription.folder);
+            key.cancel();
+        }
+    }
+
+    /**
+     * Forget key of folder that can't be watched anymore and mark its subscriptions invalid,
+     * so next {@link #watch(Path, Listener)} of folder registers it again.
+     *
+     * @return invalidated subscriptions, empty if key was already invalidated.
+     */
+    private synchronized List<Subscription> invalidate(WatchKey key) {
+        List<Subscription> listeners = subscriptions.remove(key);
+        keys.remove((Path) key.watchable(), key);
+        if (listeners == null) {
+            return List.of();
+        }
+        listeners.forEach(subscription -> subscription.valid = false);
+        return listeners;
+    }
+
+    private WatchService getWatchService() throws IOException {
+        if (watchService == null) {
+            watchService = FileSystems.getDefault().newWatchService();
+            threadFactory.newThread(this::dispatch).start();
+        }
+        return watchService;
+    }
+
+    /** Take events of all folders and pass them to listeners of folder. */
+    private void dispatch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path folder = (Path) key.watchable();
+                List<Subscription> listeners = subscriptions.getOrDefault(key, List.of());
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Path file = event.kind() == StandardWatchEventKinds.OVERFLOW
+                            ? null
+                            : folder.resolve((Path) event.context());
+                    deliver(listeners, file);
+                }
+                if (!key.reset()) {
+                    // folder was deleted, owners of subscriptions check their files and watch folder again
+                    deliver(invalidate(key), null);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // nothing to dispatch
+        }
+    }
+
+    private static void deliver(List<Subscription> listeners, Path file) {
+        for (Subscription subscription : listeners) {
+            try {
+                subscription.listener.changed(file);
+            } catch (RuntimeException e) {
+                // failure of one provider's listener must not stop events of others
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "Mdc Watcher " + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -7,4 +7,9 @@ package org.mdcfg.watchers;
 public interface Watcher {
     void start();
     void stop();
+
+    /** Take watched files again, since they may be changed by reload, e.g. includes. */
+    default void refresh() {
+        // no-op
+    }
 }
@@ -9,15 +9,26 @@ import org.junit.rules.TemporaryFolder;
 import org.mdcfg.builder.MdcBuilder;
 import org.mdcfg.builder.MdcCallback;
 import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.provider.MdcContext;
 import org.mdcfg.provider.MdcProvider;
 import org.mdcfg.helpers.TestContextBuilder;
+import org.mdcfg.watchers.WatchRegistry;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mdcfg.helpers.Resources.YAML_SINGLE_PATH;
 
 public class AutoUpdateTest {
@@ -41,6 +52,7 @@ public class AutoUpdateTest {
 
         String count = future.get();
         assertEquals(1, Integer.parseInt(count));
+        assertTrue(provider.getVersion() > 1);
         assertEquals("45000", provider.getString(TestContextBuilder.init().model("bmw").build(), "price"));
         provider.stopAutoReload();
     }
@@ -65,6 +77,109 @@ public class AutoUpdateTest {
         provider.stopAutoReload();
     }
 
+    @Test
+    public void testFolderChangedFiles() throws MdcException, IOException, InterruptedException {
+        final File folder = tempFolder.newFolder("conf");
+        Files.writeString(folder.toPath().resolve("price.yaml"), "price: 1000\n");
+        Files.writeString(folder.toPath().resolve("color.yaml"), "color: red\n");
+
+        BlockingQueue<String> results = new LinkedBlockingQueue<>();
+        MdcProvider provider = MdcBuilder.withYaml(folder.getAbsolutePath())
+                .autoReload(200, MdcCallback.<Integer, MdcException>builder()
+                        .onSuccess(c -> results.add(c.toString()))
+                        .onFailure(e -> results.add(e.getMessage()))
+                        .build())
+                .build();
+        MdcContext context = TestContextBuilder.init().build();
+        Thread.sleep(300);
+
+        Files.writeString(folder.toPath().resolve("price.yaml"), "price: 2000\n");
+        awaitResult(results, "2");
+        assertEquals("2000", provider.getString(context, "price"));
+        assertEquals("red", provider.getString(context, "color"));
+        Thread.sleep(100);
+
+        Files.delete(folder.toPath().resolve("color.yaml"));
+        awaitResult(results, "1");
+        assertEquals(Optional.empty(), provider.getStringOptional(context, "color"));
+        Thread.sleep(100);
+
+        File otherPrice = tempFolder.newFile("other-price.yaml");
+        Files.writeString(otherPrice.toPath(), "price: 5\n");
+        Files.move(otherPrice.toPath(), folder.toPath().resolve("other-price.yaml"), StandardCopyOption.ATOMIC_MOVE);
+        awaitResult(results, "There is interfile configuration for keys [price]");
+        assertEquals("2000", provider.getString(context, "price"));
+        provider.stopAutoReload();
+    }
+
+    @Test
+    public void testSameContentIgnored() throws MdcException, IOException, InterruptedException {
+        final File tempFile = tempFolder.newFile("tempFile.yaml");
+        Files.writeString(tempFile.toPath(), "price: 1000\n");
+
+        BlockingQueue<String> results = new LinkedBlockingQueue<>();
+        MdcProvider provider = MdcBuilder.withYaml(tempFile.getAbsolutePath())
+                .autoReload(100, MdcCallback.<Integer, MdcException>builder()
+                        .onSuccess(c -> results.add(c.toString()))
+                        .build())
+                .build();
+
+        Files.writeString(tempFile.toPath(), "price: 1000\n");
+        assertTrue(tempFile.setLastModified(System.currentTimeMillis() + 5000));
+        Files.writeString(tempFolder.getRoot().toPath().resolve("other.yaml"), "price: 2000\n");
+        assertNull(results.poll(500, TimeUnit.MILLISECONDS));
+        assertEquals(1, provider.getVersion());
+
+        Files.writeString(tempFile.toPath(), "price: 2000\n");
+        awaitResult(results, "1");
+        assertEquals("2000", provider.getString(TestContextBuilder.EMPTY, "price"));
+        provider.stopAutoReload();
+    }
+
+    @Test
+    public void testIncludeChanged() throws MdcException, IOException, InterruptedException {
+        final File mainFile = tempFolder.newFile("main.yaml");
+        final File includeFolder = tempFolder.newFolder("includes");
+        Files.writeString(mainFile.toPath(), "includes:\n  prices: includes/price.yaml\ncolor: red\n");
+        Files.writeString(includeFolder.toPath().resolve("price.yaml"), "price: 1000\n");
+
+        BlockingQueue<String> results = new LinkedBlockingQueue<>();
+        MdcProvider provider = MdcBuilder.withYaml(mainFile.getAbsolutePath())
+                .autoReload(100, MdcCallback.<Integer, MdcException>builder()
+                        .onSuccess(c -> results.add(c.toString()))
+                        .build())
+                .build();
+        assertEquals("1000", provider.getString(TestContextBuilder.EMPTY, "price"));
+
+        Files.writeString(includeFolder.toPath().resolve("price.yaml"), "price: 2000\n");
+        awaitResult(results, "2");
+        assertEquals("2000", provider.getString(TestContextBuilder.EMPTY, "price"));
+        assertEquals("red", provider.getString(TestContextBuilder.EMPTY, "color"));
+        provider.stopAutoReload();
+    }
+
+    @Test
+    public void testIncludeAdded() throws MdcException, IOException, InterruptedException {
+        final File mainFile = tempFolder.newFile("main.yaml");
+        final File includeFolder = tempFolder.newFolder("sub");
+        final Path include = includeFolder.toPath().resolve("inc.yaml");
+        Files.writeString(mainFile.toPath(), "color: red\n");
+        Files.writeString(include, "price: 1000\n");
+
+        MdcProvider provider = MdcBuilder.withYaml(mainFile.getAbsolutePath())
+                .autoReload(100, MdcCallback.<Integer, MdcException>builder().build())
+                .build();
+        assertFalse(provider.getStringOptional(TestContextBuilder.EMPTY, "price").isPresent());
+
+        Thread.sleep(300);
+        Files.writeString(mainFile.toPath(), "includes:\n  x: sub/inc.yaml\ncolor: red\n");
+        awaitValue(provider, "1000");
+        Thread.sleep(300);
+        Files.writeString(include, "price: 2000\n");
+        awaitValue(provider, "2000");
+        provider.stopAutoReload();
+    }
+
     @Test(expected = MdcException.class)
     public void testAutoReloadNotSupportedForStream() throws MdcException, FileNotFoundException {
         MdcBuilder.withYaml(new FileInputStream(YAML_SINGLE_PATH))
@@ -91,10 +206,127 @@ public class AutoUpdateTest {
 
         String message = future.get();
         assertEquals("Invalid nesting for wrong_nesting", message);
-        assertEquals(0, provider.getSize());
+        assertEquals(1, provider.getSize());
+        assertEquals(1, provider.getVersion());
+        assertEquals("45000", provider.getString(TestContextBuilder.init().model("bmw").build(), "price"));
         provider.stopAutoReload();
     }
 
+    @Test
+    public void testSharedWatchRegistry() throws MdcException, IOException, InterruptedException {
+        final File first = tempFolder.newFile("first.yaml");
+        final File second = tempFolder.newFolder("second").toPath().resolve("second.yaml").toFile();
+        Files.writeString(first.toPath(), "price: 1000\n");
+        Files.writeString(second.toPath(), "price: 2000\n");
+
+        AtomicInteger threads = new AtomicInteger();
+        WatchRegistry registry = new WatchRegistry(1, runnable -> {
+            threads.incrementAndGet();
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+        BlockingQueue<String> results = new LinkedBlockingQueue<>();
+        MdcProvider firstProvider = MdcBuilder.withYaml(first.getAbsolutePath())
+                .autoReload(100, MdcCallback.<Integer, MdcException>builder()
+                        .onSuccess(c -> results.add("first"))
+                        .build())
+                .watchRegistry(registry)
+                .build();
+        MdcProvider secondProvider = MdcBuilder.withYaml(second.getAbsolutePath())
+                .autoReload(100, MdcCallback.<Integer, MdcException>builder()
+                        .onSuccess(c -> results.add("second"))
+                        .build())
+                .watchRegistry(registry)
+                .build();
+
+        Thread.sleep(300);
+        Files.writeString(first.toPath(), "price: 1500\n");
+        awaitResult(results, "first");
+        Files.writeString(second.toPath(), "price: 2500\n");
+        awaitResult(results, "second");
+
+        MdcContext ctx = new MdcContext();
+        assertEquals("1500", firstProvider.getString(ctx, "price"));
+        assertEquals("2500", secondProvider.getString(ctx, "price"));
+        // one thread dispatches events of both folders, one thread runs reloads of both providers
+        assertEquals(2, threads.get());
+        firstProvider.stopAutoReload();
+        secondProvider.stopAutoReload();
+    }
+
+    @Test
+    public void testCloseWatchRegistry() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        WatchRegistry registry = new WatchRegistry(1, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            threads.add(thread);
+            return thread;
+        });
+        WatchRegistry.Subscription subscription = registry.watch(tempFolder.getRoot().toPath(), file -> { });
+        registry.getScheduler().submit(() -> { }).get(5, TimeUnit.SECONDS);
+
+        registry.close();
+        for (Thread thread : threads) {
+            thread.join(5000);
+            assertFalse(thread.isAlive());
+        }
+        assertEquals(2, threads.size());
+        assertFalse(subscription.isValid());
+        assertThrows(IllegalStateException.class, () -> registry.watch(tempFolder.getRoot().toPath(), file -> { }));
+        assertThrows(IllegalStateException.class, registry::getScheduler);
+        assertThrows(IllegalStateException.class, () -> WatchRegistry.shared().close());
+    }
+
+    @Test
+    public void testFolderRecreated() throws MdcException, IOException, InterruptedException {
+        final File folder = tempFolder.newFolder("recreated");
+        final Path file = folder.toPath().resolve("price.yaml");
+        Files.writeString(file, "price: 100\n");
+
+        WatchRegistry registry = new WatchRegistry();
+        MdcProvider fileProvider = MdcBuilder.withYaml(file.toString())
+                .autoReload(100, MdcCallback.<Integer, MdcException>builder().build())
+                .watchRegistry(registry)
+                .build();
+        MdcProvider folderProvider = MdcBuilder.withYaml(folder.getAbsolutePath())
+                .autoReload(100, MdcCallback.<Integer, MdcException>builder().build())
+                .watchRegistry(registry)
+                .build();
+
+        Thread.sleep(300);
+        Files.delete(file);
+        Files.delete(folder.toPath());
+        Thread.sleep(500);
+        Files.createDirectory(folder.toPath());
+        Files.writeString(file, "price: 200\n");
+        awaitValue(fileProvider, "200");
+        awaitValue(folderProvider, "200");
+
+        Files.writeString(file, "price: 300\n");
+        awaitValue(fileProvider, "300");
+        awaitValue(folderProvider, "300");
+        fileProvider.stopAutoReload();
+        folderProvider.stopAutoReload();
+    }
+
+    private void awaitValue(MdcProvider provider, String expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!expected.equals(provider.getStringOptional(new MdcContext(), "price").orElse(null))) {
+            assertTrue("Expected price " + expected, System.currentTimeMillis() < deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private void awaitResult(BlockingQueue<String> results, String expected) throws InterruptedException {
+        String result;
+        do {
+            result = results.poll(10, TimeUnit.SECONDS);
+            assertNotNull("Expected reload result " + expected, result);
+        } while (!expected.equals(result));
+    }
+
     private void modifyFile(Path from, Path to) {
         try {
             String read = Files.readString(from);
@@ -0,0 +1,126 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mdcfg.builder.MdcBuilder;
+import org.mdcfg.builder.MdcCallback;
+import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.helpers.TestContextBuilder;
+import org.mdcfg.provider.BoundProvider;
+import org.mdcfg.provider.ConfigReader;
+import org.mdcfg.provider.MdcContext;
+import org.mdcfg.provider.MdcConverter;
+import org.mdcfg.provider.MdcProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+import static org.mdcfg.helpers.Resources.YAML_PATH;
+
+public class BoundProviderTest {
+
+    private static MdcProvider provider;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void init() throws MdcException {
+        provider = MdcBuilder.withYaml(YAML_PATH).build();
+    }
+
+    @Test
+    public void testSameAsProvider() throws MdcException {
+        List<MdcContext> contexts = List.of(
+                TestContextBuilder.EMPTY,
+                TestContextBuilder.init().model("bmw").drive("4WD").year("2024").build(),
+                TestContextBuilder.init().model("ford").addIn(List.of("leather-seats", "panoramic-roof")).build(),
+                TestContextBuilder.init().model("toyota").drive("2WD").clearance(20.0).build());
+        for (MdcContext context : contexts) {
+            BoundProvider view = provider.forContext(context);
+            for (String key : List.of("horsepower", "price", "engine.block.cylinder-count", "engine-info.label", "off-road")) {
+                // read twice, so the second read uses remembered selector matches
+                for (int i = 0; i < 2; i++) {
+                    assertEquals(key, provider.getStringOptional(context, key), view.getStringOptional(key));
+                }
+            }
+            assertEquals(provider.getStringList(context, "engine.type"), view.getStringList("engine.type"));
+        }
+    }
+
+    @Test
+    public void testTypedValues() throws MdcException {
+        BoundProvider view = provider.forContext(TestContextBuilder.init().model("bmw").build());
+        assertEquals(480, view.getInt("horsepower", 0));
+        assertEquals(480L, view.getLong("horsepower", 0L));
+        assertEquals(480.0, view.getDouble("horsepower", 0.0), 0.0);
+        assertTrue(view.getBoolean("off-road", false));
+        assertEquals(Integer.valueOf(480), view.getScalar("horsepower", Integer.class));
+        assertEquals(Integer.valueOf(480), view.getValue("horsepower", MdcConverter.TO_INTEGER));
+        assertEquals(-1, view.getInt("production-models", -1));
+        assertThrows(MdcException.class, () -> view.getString("production-models"));
+        assertThrows(MdcException.class, () -> view.getString("missing"));
+    }
+
+    @Test
+    public void testFullGetterSurface() throws MdcException {
+        MdcContext toyota = TestContextBuilder.init().model("toyota").drive("2WD").build();
+        BoundProvider view = provider.forContext(toyota);
+        assertEquals(provider.getDouble(toyota, "horsepower"), view.getDouble("horsepower"));
+        assertEquals(provider.getShortOptional(toyota, "horsepower"), view.getShortOptional("horsepower"));
+        assertEquals(provider.getIntegerMap(toyota, "production-models"), view.getIntegerMap("production-models"));
+        assertEquals(provider.getCompoundMap(toyota, "headlights"), view.getCompoundMap("headlights"));
+        assertEquals(provider.getCompoundJSON(toyota, "headlights", false), view.getCompoundJSON("headlights", false));
+        assertEquals(provider.getAll(toyota, List.of("horsepower", "engine.type")).toMap(),
+                view.getAll(List.of("horsepower", "engine.type")).toMap());
+    }
+
+    @Test
+    public void testGetterPerReaderGetter() throws NoSuchMethodException {
+        for (Method method : ConfigReader.class.getMethods()) {
+            Class<?>[] types = method.getParameterTypes();
+            if (types.length > 0 && types[0] == MdcContext.class) {
+                Method bound = BoundProvider.class.getMethod(method.getName(), Arrays.copyOfRange(types, 1, types.length));
+                assertEquals(method.getGenericReturnType().getTypeName(), bound.getGenericReturnType().getTypeName());
+            }
+        }
+    }
+
+    @Test
+    public void testPinnedConfig() throws MdcException, IOException, InterruptedException, ExecutionException, TimeoutException {
+        File file = tempFolder.newFile("conf.yaml");
+        Files.writeString(file.toPath(), "price: 100");
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        MdcProvider reloaded = MdcBuilder.withYaml(file.getAbsolutePath())
+                .autoReload(100, MdcCallback.<Integer, MdcException>builder()
+                        .onSuccess(future::complete)
+                        .build())
+                .build();
+        BoundProvider view = reloaded.forContext(TestContextBuilder.EMPTY);
+        assertEquals("100", view.getString("price"));
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+        scheduler.schedule(() -> Files.writeString(file.toPath(), "price: 200"), 300, TimeUnit.MILLISECONDS);
+        future.get(10, TimeUnit.SECONDS);
+        scheduler.shutdown();
+        assertEquals("100", view.getString("price"));
+        assertEquals("200", reloaded.forContext(TestContextBuilder.EMPTY).getString("price"));
+        reloaded.stopAutoReload();
+    }
+}
@@ -7,14 +7,20 @@ import org.junit.BeforeClass;
 import org.mdcfg.builder.MdcBuilder;
 import org.mdcfg.exceptions.MdcException;
 import org.mdcfg.helpers.TestContextBuilder;
+import org.mdcfg.provider.MdcContext;
 import org.mdcfg.provider.MdcProvider;
+import org.mdcfg.provider.ResolvedConfig;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
+import static org.junit.Assert.*;
 import static org.mdcfg.helpers.Resources.YAML_PATH;
-import static org.junit.Assert.assertEquals;
 
 public class ConversionTest {
 
@@ -43,4 +49,121 @@ public class ConversionTest {
                 "production-models");
         assertEquals(Integer.valueOf(2020), productionModels.get("Corolla Cross"));
     }
+
+    @Test
+    public void testConvertedValueCached() throws MdcException {
+        MdcContext bmw = TestContextBuilder.init().model("bmw").build();
+        Integer horsepower = provider.getInteger(bmw, "horsepower");
+        assertEquals(Integer.valueOf(480), horsepower);
+        assertSame(horsepower, provider.getInteger(bmw, "horsepower"));
+        assertSame(provider.getScalar(bmw, "horsepower", int.class), provider.getScalar(bmw, "horsepower", int.class));
+        assertEquals(Double.valueOf(480d), provider.getDouble(bmw, "horsepower"));
+        assertEquals(Long.valueOf(480), provider.getScalar(bmw, "horsepower", long.class));
+        assertThrows(MdcException.class, () -> provider.getScalar(bmw, "horsepower", Object.class));
+    }
+
+    @Test
+    public void testCustomConverterNotCached() throws MdcException {
+        MdcContext bmw = TestContextBuilder.init().model("bmw").build();
+        Function<String, List<String>> toList = v -> new ArrayList<>(List.of(v));
+        provider.getValue(bmw, "horsepower", toList).add("x");
+        assertEquals(List.of("480"), provider.getValue(bmw, "horsepower", toList));
+
+        ResolvedConfig resolved = provider.getAll(bmw, List.of("horsepower"));
+        resolved.getValue("horsepower", toList).add("x");
+        assertEquals(List.of("480"), resolved.getValue("horsepower", toList));
+    }
+
+    @Test
+    public void testConvertedReferences() throws MdcException {
+        String yaml = "base: 10\nsize: '${ctx:count}${mdc:base}'\nempty: ' '\n";
+        MdcProvider refProvider = MdcBuilder.withYaml(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8))).build();
+        MdcContext context = new MdcContext();
+        context.put("count", 2);
+        assertEquals(Integer.valueOf(210), refProvider.getInteger(context, "size"));
+        context.put("count", 3);
+        assertEquals(Integer.valueOf(310), refProvider.getInteger(context, "size"));
+        assertNull(refProvider.getScalar(context, "empty", Integer.class));
+        assertThrows(NumberFormatException.class, () -> refProvider.getInteger(context, "empty"));
+    }
+
+    @Test
+    public void testParsedValuesCached() throws MdcException {
+        List<String> types = provider.getStringList(TestContextBuilder.EMPTY, "engine.type");
+        assertSame(types, provider.getStringList(TestContextBuilder.EMPTY, "engine.type"));
+        assertThrows(UnsupportedOperationException.class, () -> types.add("steam"));
+        assertEquals(List.of("ELECTRIC", "GAS", "DIESEL"),
+                provider.getValueList(TestContextBuilder.EMPTY, "engine.type", v -> v.toUpperCase()));
+
+        MdcContext toyota = TestContextBuilder.init().model("toyota").build();
+        Map<String, Integer> models = provider.getIntegerMap(toyota, "production-models");
+        assertSame(models, provider.getIntegerMap(toyota, "production-models"));
+        assertEquals(Integer.valueOf(2020), provider.getMap(toyota, "production-models", String::toUpperCase, Integer::valueOf)
+                .get("COROLLA CROSS"));
+    }
+
+    @Test
+    public void testParsedReferences() throws MdcException {
+        String yaml = "base: 10\nsizes: '[${ctx:count}, ${mdc:base}]'\n";
+        MdcProvider refProvider = MdcBuilder.withYaml(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8))).build();
+        MdcContext context = new MdcContext();
+        context.put("count", 2);
+        assertEquals(List.of(2, 10), refProvider.getIntegerList(context, "sizes"));
+        context.put("count", 3);
+        assertEquals(List.of(3, 10), refProvider.getIntegerList(context, "sizes"));
+    }
+
+    @Test
+    public void testNativeValues() throws MdcException {
+        String yaml = "ports: [80, 443]\nnames: ['a, b', c]\nratio: 0.5\nflag: true\ncount: 7\n"
+                + "mixed: [1, {a: b}]\nprice:\n  any@: 5\n  model@bmw: 6\nlabel: '[${mdc:count}, 1]'\n";
+        MdcProvider nativeProvider = MdcBuilder.withYaml(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)))
+                .nativeValues()
+                .loadHook("price", v -> v + "0")
+                .build();
+        MdcContext context = TestContextBuilder.EMPTY;
+        assertEquals(List.of(80, 443), nativeProvider.getIntegerList(context, "ports"));
+        assertEquals(List.of(80L, 443L), nativeProvider.getLongList(context, "ports"));
+        assertEquals(List.of("80", "443"), nativeProvider.getStringList(context, "ports"));
+        assertEquals(List.of("a, b", "c"), nativeProvider.getStringList(context, "names"));
+        assertEquals("[a, b, c]", nativeProvider.getString(context, "names"));
+        assertEquals(Double.valueOf(0.5), nativeProvider.getDouble(context, "ratio"));
+        assertEquals(Float.valueOf(0.5f), nativeProvider.getFloat(context, "ratio"));
+        assertTrue(nativeProvider.getScalar(context, "flag", boolean.class));
+        assertEquals(Long.valueOf(7), nativeProvider.getLong(context, "count"));
+        assertEquals(Double.valueOf(7), nativeProvider.getDouble(context, "count"));
+        assertEquals(List.of("1", "{a=b}"), nativeProvider.getStringList(context, "mixed"));
+        assertEquals(Integer.valueOf(60), nativeProvider.getInteger(TestContextBuilder.init().model("bmw").build(), "price"));
+        assertEquals(List.of(7, 1), nativeProvider.getIntegerList(context, "label"));
+    }
+
+    @Test
+    public void testPrimitiveValues() throws MdcException {
+        MdcContext bmw = TestContextBuilder.init().model("bmw").build();
+        assertEquals(480, provider.getInt(bmw, "horsepower", 0));
+        assertEquals(480L, provider.getLong(bmw, "horsepower", 0L));
+        assertEquals(480.0, provider.getDouble(bmw, "horsepower", 0.0), 0.0);
+        assertEquals(-1, provider.getInt(bmw, "missing", -1));
+        assertEquals(-1, provider.getInt(bmw, "production-models", -1));
+        assertTrue(provider.getBoolean(TestContextBuilder.init().clearance(20.0).build(), "off-road", false));
+        assertTrue(provider.getBoolean(bmw, "missing", true));
+
+        MdcContext toyota = TestContextBuilder.init().model("toyota").build();
+        assertEquals(-1, provider.getInt(toyota, "engine.type", -1));
+        assertEquals(-1L, provider.getLong(toyota, "engine.type", -1L));
+        assertEquals(-1.0, provider.getDouble(toyota, "engine.type", -1.0), 0.0);
+        assertThrows(NumberFormatException.class, () -> provider.getInteger(toyota, "engine.type"));
+
+        String yaml = "ports: [80, 443]\nweights: '[0.5, 1.5]'\n";
+        MdcProvider arrays = MdcBuilder.withYaml(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)))
+                .nativeValues()
+                .build();
+        int[] ports = arrays.getIntArray(TestContextBuilder.EMPTY, "ports");
+        assertArrayEquals(new int[]{80, 443}, ports);
+        ports[0] = 0;
+        assertArrayEquals(new int[]{80, 443}, arrays.getIntArray(TestContextBuilder.EMPTY, "ports"));
+        assertArrayEquals(new long[]{80, 443}, arrays.getLongArray(TestContextBuilder.EMPTY, "ports"));
+        assertArrayEquals(new double[]{0.5, 1.5}, arrays.getDoubleArray(TestContextBuilder.EMPTY, "weights"), 0.0);
+        assertThrows(MdcException.class, () -> arrays.getIntArray(TestContextBuilder.EMPTY, "missing"));
+    }
 }
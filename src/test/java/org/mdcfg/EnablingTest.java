@@ -4,7 +4,9 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mdcfg.builder.MdcBuilder;
 import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.exceptions.MdcLookupException;
 import org.mdcfg.helpers.TestContextBuilder;
+import org.mdcfg.provider.MdcContext;
 import org.mdcfg.provider.MdcProvider;
 
 import java.util.Map;
@@ -35,6 +37,21 @@ public class EnablingTest {
         provider.getIntegerMap(TestContextBuilder.init().model("bmw").build(), "production-models");
     }
 
+    @Test
+    public void testLookupMisses() {
+        MdcContext bmw = TestContextBuilder.init().model("bmw").build();
+        assertTrue(provider.getStringOptional(bmw, "production-models").isEmpty());
+        assertTrue(provider.getStringListOptional(bmw, "missing").isEmpty());
+        assertTrue(provider.getScalarOptional(bmw, "production-models", Integer.class).isEmpty());
+        assertTrue(provider.getStringOptional(TestContextBuilder.init().model("toyota").build(), "production-models").isPresent());
+
+        MdcException disabled = assertThrows(MdcLookupException.class, () -> provider.getString(bmw, "production-models"));
+        assertEquals("Property production-models is disabled.", disabled.getMessage());
+        assertEquals(0, disabled.getStackTrace().length);
+        MdcException missing = assertThrows(MdcLookupException.class, () -> provider.getString(bmw, "missing"));
+        assertEquals("Property missing not found.", missing.getMessage());
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testCompoundDisabledProperty() throws MdcException {
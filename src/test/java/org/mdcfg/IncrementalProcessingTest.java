@@ -0,0 +1,138 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg;
+
+import org.junit.Test;
+import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.helpers.TestContextBuilder;
+import org.mdcfg.lookup.LookupStrategy;
+import org.mdcfg.model.Config;
+import org.mdcfg.model.EncodedContext;
+import org.mdcfg.processor.ProcessedConfig;
+import org.mdcfg.processor.Processor;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class IncrementalProcessingTest {
+
+    private final Processor processor = new Processor(
+            new Config(false, 0, null, List.of(), false, false, LookupStrategy.LINEAR, 0, false, null));
+
+    @Test
+    public void testUnchangedPropertiesReused() throws MdcException {
+        ProcessedConfig first = processor.process(data(), new IdentityHashMap<>(), null);
+        assertEquals(4, first.getProcessedCount());
+
+        Map<String, Map<String, String>> data = data();
+        data.put("color", selectors("any@", "blue", "model@bmw", "black"));
+        ProcessedConfig second = processor.process(data, new IdentityHashMap<>(), first);
+
+        assertEquals(1, second.getProcessedCount());
+        assertSame(first.getProperties().get("price"), second.getProperties().get("price"));
+        assertSame(first.getProperties().get("label"), second.getProperties().get("label"));
+        assertSame(first.getProperties().get("size"), second.getProperties().get("size"));
+        assertNotSame(first.getProperties().get("color"), second.getProperties().get("color"));
+        assertNotSame(first.getRegistry(), second.getRegistry());
+        assertEquals("black", value(second, "color", "bmw"));
+        assertEquals("red", value(first, "color", "bmw"));
+        assertEquals("Price 100", value(second, "label", "bmw"));
+        assertEquals("XL", value(second, "size", "ford"));
+    }
+
+    @Test
+    public void testDependentsProcessed() throws MdcException {
+        ProcessedConfig first = processor.process(data(), new IdentityHashMap<>(), null);
+
+        Map<String, Map<String, String>> data = data();
+        data.put("price", selectors("any@", "200"));
+        ProcessedConfig second = processor.process(data, new IdentityHashMap<>(), first);
+        assertEquals(2, second.getProcessedCount());
+        assertSame(first.getProperties().get("color"), second.getProperties().get("color"));
+        assertEquals("Price 200", value(second, "label", "bmw"));
+        assertEquals("Price 100", value(first, "label", "bmw"));
+
+        data.remove("price");
+        ProcessedConfig third = processor.process(data, new IdentityHashMap<>(), second);
+        assertEquals(1, third.getProcessedCount());
+        assertNull(third.getProperties().get("price"));
+        assertEquals("Price ${mdc:price}", value(third, "label", "bmw"));
+
+        data.put("price", selectors("any@", "300"));
+        ProcessedConfig fourth = processor.process(data, new IdentityHashMap<>(), third);
+        assertEquals(2, fourth.getProcessedCount());
+        assertEquals("Price 300", value(fourth, "label", "bmw"));
+    }
+
+    @Test
+    public void testNativeValuesCompared() throws MdcException {
+        ProcessedConfig first = processor.process(data(), new IdentityHashMap<>(), null);
+
+        Map<String, Map<String, String>> data = data();
+        String price = new String("100");
+        data.put("price", selectors("any@", price));
+        Map<String, Object> nativeValues = new IdentityHashMap<>();
+        nativeValues.put(price, 100);
+        ProcessedConfig second = processor.process(data, nativeValues, first);
+        assertNotSame(first.getProperties().get("price"), second.getProperties().get("price"));
+    }
+
+    @Test
+    public void testAliasChangeProcessesAll() throws MdcException {
+        Map<String, Map<String, String>> data = data();
+        data.put("aliases", selectors("model@bmw", "line@x5"));
+        ProcessedConfig first = processor.process(data, new IdentityHashMap<>(), null);
+
+        data.put("aliases", selectors("model@bmw", "line@x6"));
+        ProcessedConfig second = processor.process(data, new IdentityHashMap<>(), first);
+        assertEquals(4, second.getProcessedCount());
+        assertNotSame(first.getProperties().get("price"), second.getProperties().get("price"));
+    }
+
+    @Test
+    public void testRangeIndexIdsReused() throws MdcException {
+        Map<String, Map<String, String>> data = data();
+        data.put("grip", selectors("any@", "low", "clearance@[12.0..17.0]", "high"));
+        ProcessedConfig config = processor.process(data, new IdentityHashMap<>(), null);
+        int rangeIndexCount = config.getRegistry().rangeIndexCount();
+        for (int i = 0; i < 50; i++) {
+            data.put("grip", selectors("any@", "low", "clearance@[12.0.." + (18 + i) + ".0]", "high"));
+            config = processor.process(data, new IdentityHashMap<>(), config);
+            assertEquals(1, config.getProcessedCount());
+        }
+        assertEquals(rangeIndexCount, config.getRegistry().rangeIndexCount());
+
+        data.remove("grip");
+        config = processor.process(data, new IdentityHashMap<>(), config);
+        data.put("grip", selectors("any@", "low", "clearance@[..12.0]", "high"));
+        config = processor.process(data, new IdentityHashMap<>(), config);
+        assertEquals(rangeIndexCount, config.getRegistry().rangeIndexCount());
+        EncodedContext context = new EncodedContext(TestContextBuilder.init().clearance(10.0).build(), config.getRegistry());
+        assertEquals("high", config.getProperties().get("grip").getChain(context).getValue());
+    }
+
+    private static Map<String, Map<String, String>> data() {
+        Map<String, Map<String, String>> data = new LinkedHashMap<>();
+        data.put("price", selectors("any@", "100"));
+        data.put("label", selectors("any@", "Price ${mdc:price}"));
+        data.put("color", selectors("any@", "blue", "model@bmw", "red"));
+        data.put("size", selectors("any@", "M", "model@ford", "XL"));
+        return data;
+    }
+
+    private static Map<String, String> selectors(String... pairs) {
+        Map<String, String> result = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            result.put(pairs[i], pairs[i + 1]);
+        }
+        return result;
+    }
+
+    private static String value(ProcessedConfig config, String key, String model) {
+        EncodedContext context = new EncodedContext(TestContextBuilder.init().model(model).build(), config.getRegistry());
+        var chain = config.getProperties().get(key).getChain(context);
+        return chain.getTemplate() != null && chain.getTemplate().isConstant() ? chain.getTemplate().getConstant() : chain.getValue();
+    }
+}
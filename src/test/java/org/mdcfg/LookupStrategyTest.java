@@ -0,0 +1,253 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg;
+
+import org.junit.Test;
+import org.mdcfg.builder.MdcBuilder;
+import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.lookup.LookupStrategy;
+import org.mdcfg.provider.MdcContext;
+import org.mdcfg.provider.MdcConverter;
+import org.mdcfg.provider.MdcProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.mdcfg.helpers.Resources.YAML_PATH;
+
+public class LookupStrategyTest {
+
+    private static final List<String> KEYS = List.of(
+            "engine.type", "engine.drive", "engine.block.type", "engine.block.cylinder-count",
+            "horsepower", "price", "available-colors", "off-road", "production-models",
+            "headlights.halogen.color", "headlights.led.color", "headlights.led.intensity",
+            "headlights.laser.color", "headlights.xenon.intensity", "engine-info.label");
+
+    private static final List<String> MODELS = Arrays.asList(null, "bmw", "BMW", "fiat", "ford", "toyota", "nissan");
+    private static final List<String> DRIVES = Arrays.asList(null, "4WD", "2WD", "4wd");
+    private static final List<String> CATEGORIES = Arrays.asList(null, "crossover");
+    private static final List<List<String>> ADD_INS = Arrays.asList(null, List.of(),
+            List.of("leather-seats"), List.of("panoramic-roof"), List.of("cruise-control"),
+            List.of("panoramic-roof", "leather-seats"), List.of("panoramic-roof", "xenon-lights"),
+            List.of("leather-seats", "panoramic-roof", "cruise-control"));
+    private static final List<Double> CLEARANCES = Arrays.asList(null, -5.0, 4.5, 12.0, 14.0, 17.0, 18.0,
+            19.0, 20.0, 21.0, 28.0, 29.0, 1000.0);
+
+    @Test
+    public void testStrategiesMatchLinear() throws MdcException {
+        assertSameAsLinear(false);
+    }
+
+    @Test
+    public void testCaseSensitiveStrategiesMatchLinear() throws MdcException {
+        assertSameAsLinear(true);
+    }
+
+    @Test
+    public void testManyChainsMatchLinear() throws MdcException {
+        StringBuilder yaml = new StringBuilder("flag:\n  any@: none\n");
+        for (int i = 0; i < 150; i++) {
+            yaml.append(String.format("  region@[r%d, x%d]:%n", i % 7, i))
+                    .append(String.format("    tier@%s:%n", i % 3 == 0 ? "!gold" : "t" + i % 5))
+                    .append(String.format("      feature*@[f%d, f%d]: v%d%n", i % 11, i % 13, i));
+        }
+        MdcProvider linear = MdcBuilder.withYaml(toStream(yaml)).build();
+        for (LookupStrategy strategy : LookupStrategy.values()) {
+            MdcProvider provider = MdcBuilder.withYaml(toStream(yaml)).lookupStrategy(strategy).build();
+            for (int region = 0; region < 8; region++) {
+                for (String tier : Arrays.asList("gold", "t1", "t2", "t4", null)) {
+                    for (int feature = 0; feature < 14; feature++) {
+                        MdcContext context = new MdcContext();
+                        context.put("region", "r" + region);
+                        putIfNotNull(context, "tier", tier);
+                        context.put("feature", List.of("f" + feature, "f" + (feature + 3) % 14));
+                        assertEquals(strategy + " " + context,
+                                linear.getString(context, "flag"), provider.getString(context, "flag"));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNodeLimitMatchLinear() throws MdcException {
+        StringBuilder yaml = new StringBuilder("flag:\n  any@: none\n");
+        for (int i = 0; i < 600; i++) {
+            yaml.append(String.format("  a*@[a%d, a%d]:%n", i % 13, i % 17))
+                    .append(String.format("    b*@[b%d, b%d]:%n", i % 19, i % 23))
+                    .append(String.format("      c*@[c%d, c%d]:%n", i % 11, i % 7))
+                    .append(String.format("        d@d%d: v%d%n", i % 5, i));
+        }
+        MdcProvider linear = MdcBuilder.withYaml(toStream(yaml)).build();
+        MdcProvider provider = MdcBuilder.withYaml(toStream(yaml)).lookupStrategy(LookupStrategy.DECISION_TREE).build();
+        for (int a = 0; a < 18; a++) {
+            for (int b = 0; b < 24; b++) {
+                for (int c = 0; c < 24; c++) {
+                    MdcContext context = new MdcContext();
+                    context.put("a", List.of("a" + a, "a" + (a * 5) % 17));
+                    context.put("b", List.of("b" + b, "b" + (b * 7) % 23));
+                    context.put("c", List.of("c" + c % 12, "c" + c % 7));
+                    context.put("d", "d" + (a + b + c) % 6);
+                    assertEquals(context.toString(),
+                            linear.getString(context, "flag"), provider.getString(context, "flag"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEncodedContextValues() throws MdcException {
+        String yaml = "size:\n  any@: none\n  n@5: five\n  tag*@[a, B]: tagged\n";
+        for (LookupStrategy strategy : LookupStrategy.values()) {
+            MdcProvider provider = MdcBuilder.withYaml(toStream(yaml)).lookupStrategy(strategy).build();
+            assertEquals("five", provider.getString(context("n", 5), "size"));
+            assertEquals("five", provider.getString(context("n", "5"), "size"));
+            assertEquals("none", provider.getString(context("n", 6), "size"));
+            assertEquals("none", provider.getString(context("n", "unknown"), "size"));
+            assertEquals("tagged", provider.getString(context("tag", List.of("x", "b")), "size"));
+            assertEquals("tagged", provider.getString(context("tag", "A"), "size"));
+            assertEquals("none", provider.getString(context("tag", List.of("x", "c")), "size"));
+        }
+    }
+
+    @Test
+    public void testRangeBands() throws MdcException {
+        StringBuilder yaml = new StringBuilder("band:\n  any@: none\n");
+        for (int i = 0; i <= 40; i++) {
+            yaml.append(String.format("  amount@%d..!%d: b%d%n", i * 10, i * 10 + 10, i));
+        }
+        yaml.append("  amount@1000..: top\ngrown:\n  any@: none\n  age@!..18: adult\n");
+        for (LookupStrategy strategy : LookupStrategy.values()) {
+            MdcProvider provider = MdcBuilder.withYaml(toStream(yaml)).lookupStrategy(strategy).build();
+            assertEquals("none", provider.getString(context("amount", -5), "band"));
+            assertEquals("b0", provider.getString(context("amount", 0), "band"));
+            assertEquals("b0", provider.getString(context("amount", -0.0), "band"));
+            assertEquals("b0", provider.getString(context("amount", 9.99), "band"));
+            assertEquals("b1", provider.getString(context("amount", 10), "band"));
+            assertEquals("b2", provider.getString(context("amount", "25"), "band"));
+            assertEquals("b1", provider.getString(context("amount", List.of(5, 15)), "band"));
+            assertEquals("b40", provider.getString(context("amount", 409), "band"));
+            assertEquals("none", provider.getString(context("amount", 410), "band"));
+            assertEquals("none", provider.getString(context("amount", Double.NaN), "band"));
+            assertEquals("top", provider.getString(context("amount", 1000), "band"));
+            assertEquals("top", provider.getString(context("amount", 1e12), "band"));
+            assertEquals("none", provider.getString(context("amount", Double.POSITIVE_INFINITY), "band"));
+            assertEquals("none", provider.getString(context("age", 18), "grown"));
+            assertEquals("adult", provider.getString(context("age", 18.5), "grown"));
+            assertEquals("adult", provider.getString(context("amount", 5), "grown"));
+        }
+    }
+
+    @Test
+    public void testSplitRanges() throws MdcException {
+        String yaml = "fee:\n  any@: none\n  size*@..10: small\n  size*@100..: big-${ctx:kind}\n"
+                + "  size*@50:\n    kind@fragile: careful\n";
+        for (LookupStrategy strategy : LookupStrategy.values()) {
+            MdcProvider provider = MdcBuilder.withYaml(toStream(yaml)).lookupStrategy(strategy).build();
+            MdcContext context = context("size", List.of(500, 5, 50, "50", 7));
+            context.put("kind", "fragile");
+            assertEquals(List.of("big-fragile", "small", "careful", "careful", "small"),
+                    provider.getSplitValue(context, "fee", "size", MdcConverter.TO_STRING));
+            assertEquals("careful", provider.getString(context, "fee"));
+        }
+    }
+
+    @Test
+    public void testNonNumericRangeValues() throws MdcException {
+        MdcProvider linear = build(LookupStrategy.LINEAR, false);
+        for (LookupStrategy strategy : LookupStrategy.values()) {
+            MdcProvider provider = build(strategy, false);
+            for (Object clearance : Arrays.asList("high", List.of("high", 15), List.of("", "30"))) {
+                for (String model : MODELS) {
+                    for (String drive : DRIVES) {
+                        MdcContext context = context("clearance", clearance);
+                        putIfNotNull(context, "model", model);
+                        putIfNotNull(context, "drive", drive);
+                        MdcContext slotted = provider.createContext();
+                        slotted.putAll(context);
+                        for (String key : KEYS) {
+                            assertEquals(strategy + " " + key + " " + context,
+                                    linear.getStringOptional(context, key), provider.getStringOptional(context, key));
+                            assertEquals(strategy + " slotted " + key + " " + context,
+                                    linear.getStringOptional(context, key), provider.getStringOptional(slotted, key));
+                        }
+                    }
+                }
+            }
+            assertEquals("true", provider.getString(context("clearance", "high"), "off-road"));
+            assertEquals("true", provider.getString(context("clearance", List.of("high", 30)), "off-road"));
+        }
+    }
+
+    private static MdcContext context(String key, Object value) {
+        MdcContext context = new MdcContext();
+        context.put(key, value);
+        return context;
+    }
+
+    private static InputStream toStream(CharSequence data) {
+        return new ByteArrayInputStream(data.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertSameAsLinear(boolean caseSensitive) throws MdcException {
+        MdcProvider linear = build(LookupStrategy.LINEAR, caseSensitive);
+        for (LookupStrategy strategy : LookupStrategy.values()) {
+            MdcProvider provider = build(strategy, caseSensitive);
+            for (MdcContext context : contexts()) {
+                MdcContext slotted = provider.createContext();
+                slotted.putAll(context);
+                for (String key : KEYS) {
+                    assertEquals(strategy + " " + key + " " + context,
+                            linear.getStringOptional(context, key), provider.getStringOptional(context, key));
+                    assertEquals(strategy + " slotted " + key + " " + context,
+                            linear.getStringOptional(context, key), provider.getStringOptional(slotted, key));
+                }
+                if (context.get("add-in") != null) {
+                    assertEquals(strategy + " split " + context,
+                            linear.getSplitValue(context, "price", "add-in", MdcConverter.TO_STRING),
+                            provider.getSplitValue(context, "price", "add-in", MdcConverter.TO_STRING));
+                }
+                assertEquals(strategy + " compound " + context,
+                        linear.getCompoundMap(context, "headlights"), provider.getCompoundMap(context, "headlights"));
+            }
+        }
+    }
+
+    private static MdcProvider build(LookupStrategy strategy, boolean caseSensitive) throws MdcException {
+        MdcBuilder.MdcConfigBuilder builder = MdcBuilder.withYaml(YAML_PATH).lookupStrategy(strategy);
+        return caseSensitive ? builder.caseSensitive().build() : builder.build();
+    }
+
+    private static List<MdcContext> contexts() {
+        List<MdcContext> result = new ArrayList<>();
+        for (String model : MODELS) {
+            for (String drive : DRIVES) {
+                for (String category : CATEGORIES) {
+                    for (List<String> addIn : ADD_INS) {
+                        for (Double clearance : CLEARANCES) {
+                            MdcContext context = new MdcContext();
+                            putIfNotNull(context, "model", model);
+                            putIfNotNull(context, "drive", drive);
+                            putIfNotNull(context, "cat", category);
+                            putIfNotNull(context, "add-in", addIn);
+                            putIfNotNull(context, "clearance", clearance);
+                            context.put("year", "2024");
+                            result.add(context);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void putIfNotNull(MdcContext context, String key, Object value) {
+        if (value != null) {
+            context.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mdcfg.builder.MdcBuilder;
+import org.mdcfg.builder.MdcCallback;
+import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.helpers.TestContextBuilder;
+import org.mdcfg.provider.MdcContext;
+import org.mdcfg.provider.MdcProvider;
+import org.mdcfg.provider.PinnedConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+import static org.mdcfg.helpers.Resources.YAML_PATH;
+import static org.mdcfg.helpers.Resources.YAML_SINGLE_PATH;
+
+public class PinnedConfigTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testReadsPinnedVersion() throws MdcException, IOException, ExecutionException, InterruptedException, TimeoutException {
+        final File tempFile = tempFolder.newFile("tempFile.yaml");
+        Files.writeString(tempFile.toPath(), Files.readString(Path.of(YAML_SINGLE_PATH)));
+
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        MdcProvider provider = MdcBuilder.withYaml(tempFile.getAbsolutePath())
+                .autoReload(200, MdcCallback.<Integer, MdcException>builder()
+                        .onSuccess(future::complete)
+                        .build())
+                .build();
+        MdcContext context = TestContextBuilder.init().model("bmw").build();
+
+        try (PinnedConfig pinned = provider.pin()) {
+            assertEquals(1, pinned.getVersion());
+            Thread.sleep(300);
+            Files.writeString(tempFile.toPath(), "price: 1000\nmodel-name: bmw\n");
+            future.get(10, TimeUnit.SECONDS);
+
+            assertTrue(provider.getVersion() > 1);
+            assertEquals("1000", provider.getString(context, "price"));
+            assertEquals(1, pinned.getVersion());
+            assertEquals("45000", pinned.getString(context, "price"));
+            assertEquals(45000, pinned.getInt(context, "price", 0));
+            assertEquals(Optional.empty(), pinned.getStringOptional(context, "model-name"));
+            assertEquals("45000", pinned.forContext(context).getString("price"));
+        }
+        try (PinnedConfig pinned = provider.pin()) {
+            assertEquals(provider.getVersion(), pinned.getVersion());
+            assertEquals(Optional.of("bmw"), pinned.getStringOptional(context, "model-name"));
+        }
+        provider.stopAutoReload();
+    }
+
+    @Test
+    public void testReadValues() throws MdcException {
+        MdcProvider provider = MdcBuilder.withYaml(YAML_PATH).build();
+        MdcContext context = TestContextBuilder.init().model("bmw").year("2024").build();
+        try (PinnedConfig pinned = provider.pin()) {
+            assertEquals(provider.getString(context, "engine-info.label"), pinned.getString(context, "engine-info.label"));
+            assertEquals(Integer.valueOf(480), pinned.getInteger(context, "horsepower"));
+            assertEquals(Optional.of(480), pinned.getIntegerOptional(context, "horsepower"));
+            assertEquals(Long.valueOf(480), pinned.getScalar(context, "horsepower", Long.class));
+            assertEquals(List.of("electric", "gas", "diesel"), pinned.getStringList(context, "engine.type"));
+            assertEquals(-1, pinned.getInt(context, "missing", -1));
+            assertThrows(MdcException.class, () -> pinned.getString(context, "production-models"));
+        }
+    }
+
+    @Test
+    public void testFullGetterSurface() throws MdcException {
+        MdcProvider provider = MdcBuilder.withYaml(YAML_PATH).build();
+        MdcContext toyota = TestContextBuilder.init().model("toyota").drive("2WD").build();
+        try (PinnedConfig pinned = provider.pin()) {
+            assertEquals(provider.getDouble(toyota, "horsepower"), pinned.getDouble(toyota, "horsepower"));
+            assertEquals(provider.getFloat(toyota, "horsepower"), pinned.getFloat(toyota, "horsepower"));
+            assertEquals(provider.getIntegerMap(toyota, "production-models"), pinned.getIntegerMap(toyota, "production-models"));
+            assertEquals(provider.getCompoundMap(toyota, "headlights"), pinned.getCompoundMap(toyota, "headlights"));
+            assertEquals(provider.getAllUnder(toyota, "engine").toMap(), pinned.getAllUnder(toyota, "engine").toMap());
+            assertEquals(provider.getDoubleListOptional(toyota, "missing"), pinned.getDoubleListOptional(toyota, "missing"));
+            pinned.close();
+            assertThrows(IllegalStateException.class, () -> pinned.getCompoundMap(toyota, "headlights"));
+        }
+    }
+
+    @Test
+    public void testClosed() throws MdcException {
+        MdcProvider provider = MdcBuilder.withYaml(YAML_PATH).build();
+        PinnedConfig pinned = provider.pin();
+        pinned.close();
+        assertThrows(IllegalStateException.class, pinned::getVersion);
+    }
+}
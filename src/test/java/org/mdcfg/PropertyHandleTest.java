@@ -0,0 +1,92 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mdcfg.builder.MdcBuilder;
+import org.mdcfg.builder.MdcCallback;
+import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.exceptions.MdcLookupException;
+import org.mdcfg.helpers.TestContextBuilder;
+import org.mdcfg.provider.MdcContext;
+import org.mdcfg.provider.MdcProvider;
+import org.mdcfg.provider.PropertyHandle;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+import static org.mdcfg.helpers.Resources.YAML_PATH;
+
+public class PropertyHandleTest {
+
+    private static MdcProvider provider;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void init() throws MdcException {
+        provider = MdcBuilder.withYaml(YAML_PATH).build();
+    }
+
+    @Test
+    public void testGet() throws MdcException {
+        PropertyHandle<Integer> horsepower = provider.handle("HorsePower", Integer.class);
+        assertEquals(Integer.valueOf(400), horsepower.get(TestContextBuilder.EMPTY));
+        assertEquals(Integer.valueOf(500), horsepower.get(TestContextBuilder.init().model("bmw").drive("4WD").build()));
+        assertEquals(Integer.valueOf(380), horsepower.getOrDefault(TestContextBuilder.init().model("fiat").build(), 0));
+
+        PropertyHandle<Boolean> offRoad = provider.handle("off-road", boolean.class);
+        assertTrue(offRoad.get(TestContextBuilder.init().clearance(20.0).build()));
+        assertThrows(MdcException.class, () -> provider.handle("horsepower", Object.class));
+    }
+
+    @Test
+    public void testMisses() throws MdcException {
+        PropertyHandle<String> missing = provider.handle("missing", String.class);
+        assertEquals("none", missing.getOrDefault(TestContextBuilder.EMPTY, "none"));
+        assertThrows(MdcLookupException.class, () -> missing.get(TestContextBuilder.EMPTY));
+
+        PropertyHandle<String> models = provider.handle("production-models", String.class);
+        MdcContext bmw = TestContextBuilder.init().model("bmw").build();
+        assertEquals("none", models.getOrDefault(bmw, "none"));
+        MdcException e = assertThrows(MdcLookupException.class, () -> models.get(bmw));
+        assertEquals("Property production-models is disabled.", e.getMessage());
+    }
+
+    @Test
+    public void testReload() throws MdcException, IOException, InterruptedException, ExecutionException, TimeoutException {
+        File file = tempFolder.newFile("conf.yaml");
+        Files.writeString(file.toPath(), "price: 100");
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        MdcProvider reloaded = MdcBuilder.withYaml(file.getAbsolutePath())
+                .autoReload(100, MdcCallback.<Integer, MdcException>builder()
+                        .onSuccess(future::complete)
+                        .build())
+                .build();
+        PropertyHandle<Long> price = reloaded.handle("price", Long.class);
+        PropertyHandle<Long> discount = reloaded.handle("discount", Long.class);
+        assertEquals(Long.valueOf(100), price.get(TestContextBuilder.EMPTY));
+        assertEquals(Long.valueOf(0), discount.getOrDefault(TestContextBuilder.EMPTY, 0L));
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+        scheduler.schedule(() -> Files.writeString(file.toPath(), "price: 200\ndiscount: 5"), 300, TimeUnit.MILLISECONDS);
+        future.get(10, TimeUnit.SECONDS);
+        scheduler.shutdown();
+        assertEquals(Long.valueOf(200), price.get(TestContextBuilder.EMPTY));
+        assertEquals(Long.valueOf(5), discount.getOrDefault(TestContextBuilder.EMPTY, 0L));
+        reloaded.stopAutoReload();
+    }
+}
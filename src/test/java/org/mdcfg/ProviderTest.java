@@ -15,6 +15,8 @@ import org.mdcfg.provider.MdcConverter;
 import org.mdcfg.provider.MdcProvider;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -339,6 +341,55 @@ public class ProviderTest {
         assertEnginePOJO(engine);
     }
 
+    @Test
+    public void testReferenceSpecialCharacters() throws MdcException {
+        String yaml = "cost: 'price $1 \\ ${a:b}'\n"
+                + "label: '${mdc:cost} for ${ctx:name} ${unknown:ref} ${ctx:absent}'\n"
+                + "broken: '${mdc:missing}'\n";
+        MdcProvider refProvider = MdcBuilder.withYaml(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8))).build();
+        MdcContext context = new MdcContext();
+        context.put("name", "$2\\n");
+        assertEquals("price $1 \\ ${a:b} for $2\\n ${unknown:ref} ${ctx:absent}", refProvider.getString(context, "label"));
+        assertThrows(MdcException.class, () -> refProvider.getString(context, "broken"));
+    }
+
+    @Test
+    public void testConstantReferences() throws MdcException {
+        String yaml = "base: 10\n"
+                + "twice: '${mdc:base}${mdc:base}'\n"
+                + "dynamic:\n  any@: x\n  model@bmw: y\n"
+                + "gated:\n  any@: g\n  enabled@:\n    any@: true\n    model@fiat: false\n"
+                + "label: '${mdc:twice}-${mdc:dynamic}-${ctx:year}'\n"
+                + "gated-label: '${mdc:twice}-${mdc:gated}'\n";
+        MdcProvider refProvider = MdcBuilder.withYaml(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8))).build();
+        assertEquals("1010-x-2024", refProvider.getString(TestContextBuilder.init().year("2024").build(), "label"));
+        assertEquals("1010-y-${ctx:year}", refProvider.getString(TestContextBuilder.init().model("bmw").build(), "label"));
+        assertEquals("1010-g", refProvider.getString(TestContextBuilder.EMPTY, "gated-label"));
+        MdcContext fiat = TestContextBuilder.init().model("fiat").build();
+        assertThrows(MdcException.class, () -> refProvider.getString(fiat, "gated-label"));
+        assertEquals(List.of("10"), refProvider.getStringList(TestContextBuilder.EMPTY, "base"));
+    }
+
+    @Test
+    public void testCyclicReferences() throws MdcException {
+        String cyclic = "first:\n  any@: '${mdc:second}'\n  model@bmw: b\n"
+                + "second: '${mdc:third}'\nthird: '${mdc:first}'\n";
+        MdcException e = assertThrows(MdcException.class,
+                () -> MdcBuilder.withYaml(new ByteArrayInputStream(cyclic.getBytes(StandardCharsets.UTF_8))).build());
+        assertTrue(e.getMessage(), e.getMessage().startsWith("Cyclic property references: "));
+        assertTrue(e.getMessage().contains("first") && e.getMessage().contains("third"));
+
+        String self = "self: 'a${mdc:self}'\n";
+        assertThrows(MdcException.class,
+                () -> MdcBuilder.withYaml(new ByteArrayInputStream(self.getBytes(StandardCharsets.UTF_8))).build());
+
+        String diamond = "top: '${mdc:left}/${mdc:right}'\nleft: 'l${mdc:base}'\nright: 'r${mdc:base}'\n"
+                + "base:\n  any@: x\n  model@bmw: y\n";
+        MdcProvider refProvider = MdcBuilder.withYaml(new ByteArrayInputStream(diamond.getBytes(StandardCharsets.UTF_8))).build();
+        assertEquals("ly/ry", refProvider.getString(TestContextBuilder.init().model("bmw").build(), "top"));
+        assertEquals("lx/rx", refProvider.getString(TestContextBuilder.EMPTY, "top"));
+    }
+
     @Test
     public void testStringPropertyResolver() throws MdcException {
         String label = provider.getString(
@@ -0,0 +1,100 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mdcfg.watchers.ReloadCoordinator;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReloadCoordinatorTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testChangesDuringReloadCollapsed() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        BlockingQueue<Integer> done = new LinkedBlockingQueue<>();
+        ReloadCoordinator coordinator = new ReloadCoordinator(superseded -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            int run = runs.incrementAndGet();
+            if (run == 1) {
+                started.countDown();
+                await(release);
+            }
+            running.decrementAndGet();
+            done.add(run);
+        }, executor);
+
+        coordinator.request();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        coordinator.request();
+        coordinator.request();
+        coordinator.request();
+        release.countDown();
+
+        assertEquals(Integer.valueOf(1), done.poll(5, TimeUnit.SECONDS));
+        assertEquals(Integer.valueOf(2), done.poll(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(2, runs.get());
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    public void testReloadSupersededByNewerChange() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingQueue<List<Boolean>> done = new LinkedBlockingQueue<>();
+        AtomicInteger runs = new AtomicInteger();
+        ReloadCoordinator coordinator = new ReloadCoordinator(superseded -> {
+            boolean before = superseded.getAsBoolean();
+            if (runs.incrementAndGet() == 1) {
+                started.countDown();
+                await(release);
+            }
+            done.add(List.of(before, superseded.getAsBoolean()));
+        }, executor);
+
+        coordinator.request();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        coordinator.request();
+        release.countDown();
+
+        assertEquals(List.of(false, true), done.poll(5, TimeUnit.SECONDS));
+        assertEquals(List.of(false, false), done.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testStop() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        ReloadCoordinator coordinator = new ReloadCoordinator(superseded -> runs.incrementAndGet(), executor);
+
+        coordinator.stop();
+        coordinator.request();
+        Thread.sleep(100);
+        assertEquals(0, runs.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
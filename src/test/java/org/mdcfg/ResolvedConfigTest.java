@@ -0,0 +1,80 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mdcfg.builder.MdcBuilder;
+import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.helpers.TestContextBuilder;
+import org.mdcfg.provider.MdcContext;
+import org.mdcfg.provider.MdcConverter;
+import org.mdcfg.provider.MdcProvider;
+import org.mdcfg.provider.ResolvedConfig;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mdcfg.helpers.Resources.YAML_PATH;
+
+public class ResolvedConfigTest {
+
+    private static MdcProvider provider;
+
+    @BeforeClass
+    public static void init() throws MdcException {
+        provider = MdcBuilder.withYaml(YAML_PATH).build();
+    }
+
+    @Test
+    public void testGetAll() throws MdcException {
+        MdcContext context = TestContextBuilder.init().model("bmw").year("2024").build();
+        ResolvedConfig resolved = provider.getAll(context,
+                List.of("horsepower", "engine-info.label", "production-models", "missing", "engine.type"));
+        assertEquals(List.of("engine-info.label", "engine.type", "horsepower"), resolved.getKeys());
+        assertEquals(provider.getString(context, "engine-info.label"), resolved.getString("engine-info.label"));
+        assertEquals(480, resolved.getInt("horsepower", 0));
+        assertEquals(480L, resolved.getLong("horsepower", 0L));
+        assertEquals(Integer.valueOf(480), resolved.getScalar("horsepower", Integer.class));
+        assertEquals(List.of("electric", "gas", "diesel"), resolved.getStringList("engine.type"));
+        assertFalse(resolved.contains("production-models"));
+        assertNull(resolved.getString("missing"));
+        assertEquals("none", resolved.getString("missing", "none"));
+        assertEquals(-1, resolved.getInt("missing", -1));
+        assertEquals(-1, resolved.getInt("engine.type", -1));
+        assertEquals(-1.0, resolved.getDouble("engine.type", -1.0), 0.0);
+        assertThrows(NumberFormatException.class, () -> resolved.getValue("engine.type", MdcConverter.TO_INTEGER));
+        assertThrows(UnsupportedOperationException.class, () -> resolved.toMap().put("a", "b"));
+    }
+
+    @Test
+    public void testGetAllUnder() throws MdcException {
+        MdcContext context = TestContextBuilder.init().model("ford").category("crossover").build();
+        ResolvedConfig engine = provider.getAllUnder(context, "Engine");
+        assertFalse(engine.getKeys().isEmpty());
+        for (String key : engine.getKeys()) {
+            assertTrue(key, key.startsWith("engine."));
+            assertEquals(provider.getString(context, key), engine.getString(key));
+        }
+        assertFalse(engine.contains("engine-info.label"));
+        ResolvedConfig all = provider.getAllUnder(TestContextBuilder.init().model("toyota").build(), "");
+        assertTrue(all.size() > engine.size());
+        assertTrue(all.contains("production-models"));
+        assertTrue(all.contains("engine-info.label"));
+    }
+
+    @Test
+    public void testMixedCaseKeys() throws MdcException {
+        MdcContext context = TestContextBuilder.init().model("bmw").build();
+        ResolvedConfig resolved = provider.getAll(context, List.of("HorsePower"));
+        assertEquals(List.of("horsepower"), resolved.getKeys());
+        assertEquals(provider.getString(context, "HorsePower"), resolved.getString("horsepower"));
+        assertEquals(480, resolved.getInt("HORSEPOWER", 0));
+        assertTrue(resolved.contains("horsePower"));
+
+        ResolvedConfig engine = provider.getAllUnder(context, "Engine");
+        assertEquals(provider.getString(context, "engine.type"), engine.getString("Engine.Type"));
+        assertEquals(engine.getString("engine.type"), engine.getString("ENGINE.TYPE"));
+    }
+}
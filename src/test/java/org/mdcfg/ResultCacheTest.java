@@ -0,0 +1,95 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mdcfg.builder.MdcBuilder;
+import org.mdcfg.builder.MdcCallback;
+import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.helpers.TestContextBuilder;
+import org.mdcfg.provider.MdcContext;
+import org.mdcfg.provider.MdcProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.mdcfg.helpers.Resources.YAML_PATH;
+
+public class ResultCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testUnrelatedKeys() throws MdcException {
+        MdcProvider provider = MdcBuilder.withYaml(YAML_PATH).resultCache(100).build();
+        for (int i = 0; i < 10; i++) {
+            MdcContext context = TestContextBuilder.init().model("bmw").drive("4WD").build();
+            context.put("request-id", i);
+            assertEquals("500", provider.getString(context, "horsepower"));
+        }
+        assertEquals(1, provider.getCacheMisses());
+        assertEquals(9, provider.getCacheHits());
+
+        assertEquals("480", provider.getString(TestContextBuilder.init().model("bmw").build(), "horsepower"));
+        assertEquals(2, provider.getCacheMisses());
+    }
+
+    @Test
+    public void testReferencedKeys() throws MdcException {
+        MdcProvider provider = MdcBuilder.withYaml(YAML_PATH).resultCache(100).build();
+        assertEquals("Block inline Type 480 Horsepower Year 2024 with ${outer_pattern}", provider.getString(
+                TestContextBuilder.init().model("bmw").year("2024").build(), "engine-info.label"));
+        assertEquals("Block inline Type 500 Horsepower Year 2024 with ${outer_pattern}", provider.getString(
+                TestContextBuilder.init().model("bmw").drive("4WD").year("2024").build(), "engine-info.label"));
+        assertEquals("Block inline Type 480 Horsepower Year 2025 with ${outer_pattern}", provider.getString(
+                TestContextBuilder.init().model("bmw").year("2025").build(), "engine-info.label"));
+        assertEquals("Block inline Type 480 Horsepower Year ${ctx:year} with ${outer_pattern}", provider.getString(
+                TestContextBuilder.init().model("bmw").build(), "engine-info.label"));
+    }
+
+    @Test
+    public void testEviction() throws MdcException {
+        MdcProvider provider = MdcBuilder.withYaml(YAML_PATH).resultCache(1).build();
+        MdcContext bmw = TestContextBuilder.init().model("bmw").build();
+        MdcContext fiat = TestContextBuilder.init().model("fiat").build();
+        assertEquals("480", provider.getString(bmw, "horsepower"));
+        assertEquals("380", provider.getString(fiat, "horsepower"));
+        assertEquals("480", provider.getString(bmw, "horsepower"));
+        assertEquals(3, provider.getCacheMisses());
+        assertEquals(0, provider.getCacheHits());
+    }
+
+    @Test
+    public void testReload() throws MdcException, IOException, InterruptedException, ExecutionException, TimeoutException {
+        File file = tempFolder.newFile("conf.yaml");
+        Files.writeString(file.toPath(), "price: 100");
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        MdcProvider provider = MdcBuilder.withYaml(file.getAbsolutePath())
+                .resultCache(100)
+                .autoReload(100, MdcCallback.<Integer, MdcException>builder()
+                        .onSuccess(future::complete)
+                        .build())
+                .build();
+        assertEquals("100", provider.getString(TestContextBuilder.EMPTY, "price"));
+        assertEquals("100", provider.getString(TestContextBuilder.EMPTY, "price"));
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+        scheduler.schedule(() -> Files.writeString(file.toPath(), "price: 200"), 300, TimeUnit.MILLISECONDS);
+        future.get(10, TimeUnit.SECONDS);
+        scheduler.shutdown();
+        assertEquals("200", provider.getString(TestContextBuilder.EMPTY, "price"));
+        provider.stopAutoReload();
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ *   Copyright (C) 2026 LvivCoffeeCoders team.
+ */
+package org.mdcfg;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mdcfg.builder.MdcBuilder;
+import org.mdcfg.exceptions.MdcException;
+import org.mdcfg.provider.MdcContext;
+import org.mdcfg.provider.MdcProvider;
+import org.mdcfg.provider.SlottedContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mdcfg.helpers.Resources.YAML_PATH;
+
+public class SlottedContextTest {
+
+    private static MdcProvider provider;
+
+    @BeforeClass
+    public static void init() throws MdcException {
+        provider = MdcBuilder.withYaml(YAML_PATH).build();
+    }
+
+    @Test
+    public void testMapChanges() throws MdcException {
+        SlottedContext context = provider.createContext();
+        assertEquals("400", provider.getString(context, "horsepower"));
+
+        context.put("model", "BMW");
+        assertEquals("480", provider.getString(context, "horsepower"));
+
+        context.putAll(Map.of("drive", "4wd"));
+        assertEquals("500", provider.getString(context, "horsepower"));
+
+        context.computeIfPresent("model", (k, v) -> "ford");
+        assertEquals("350", provider.getString(context, "horsepower"));
+
+        context.replace("drive", "2WD");
+        assertEquals("300", provider.getString(context, "horsepower"));
+
+        context.remove("drive");
+        assertEquals("400", provider.getString(context, "horsepower"));
+
+        context.merge("model", "fiat", (a, b) -> b);
+        assertEquals("380", provider.getString(context, "horsepower"));
+
+        context.clear();
+        assertEquals("400", provider.getString(context, "horsepower"));
+    }
+
+    @Test
+    public void testRangeValues() throws MdcException {
+        SlottedContext context = provider.createContext();
+        context.put("clearance", 12.0);
+        assertEquals("false", provider.getString(context, "off-road"));
+
+        context.put("clearance", List.of("15", 30));
+        assertEquals("true", provider.getString(context, "off-road"));
+
+        context.put("clearance", "high");
+        assertEquals("true", provider.getString(context, "off-road"));
+    }
+
+    @Test
+    public void testMapApi() {
+        SlottedContext context = provider.createContext();
+        context.put("model", "bmw");
+        context.put("custom", 1);
+
+        MdcContext plain = new MdcContext();
+        plain.putAll(context);
+        assertEquals(plain, context);
+        assertEquals(context, context.clone());
+    }
+
+    @Test
+    public void testWriteThroughViews() throws MdcException {
+        SlottedContext context = provider.createContext();
+        context.put("model", "bmw");
+        context.put("drive", "4wd");
+        assertEquals("500", provider.getString(context, "horsepower"));
+
+        assertTrue(context.keySet().remove("drive"));
+        assertEquals("480", provider.getString(context, "horsepower"));
+
+        context.entrySet().iterator().next().setValue("fiat");
+        assertEquals("380", provider.getString(context, "horsepower"));
+
+        context.values().removeIf("fiat"::equals);
+        assertEquals("400", provider.getString(context, "horsepower"));
+        assertTrue(context.isEmpty());
+    }
+
+    @Test
+    public void testListValueCopied() throws MdcException {
+        SlottedContext context = provider.createContext();
+        List<String> addIns = new ArrayList<>(List.of("panoramic-roof"));
+        context.put("model", "ford");
+        context.put("add-in", addIns);
+        addIns.set(0, "ls");
+        assertEquals(List.of("panoramic-roof"), context.get("add-in"));
+        assertEquals(List.of("white", "black", "metalic"), provider.getStringList(context, "available-colors"));
+    }
+}
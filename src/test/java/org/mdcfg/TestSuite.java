@@ -16,7 +16,16 @@ import org.junit.runners.Suite;
         AliasTest.class,
         EnablingTest.class,
         AutoUpdateTest.class,
-        CaseSensitivityTest.class
+        CaseSensitivityTest.class,
+        LookupStrategyTest.class,
+        SlottedContextTest.class,
+        ResultCacheTest.class,
+        PropertyHandleTest.class,
+        BoundProviderTest.class,
+        ResolvedConfigTest.class,
+        PinnedConfigTest.class,
+        IncrementalProcessingTest.class,
+        ReloadCoordinatorTest.class
 })
 public class TestSuite {
 }